@@ -0,0 +1,68 @@
+package foundation.identity.jsonld;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compares hashing the normalized String with streaming the N-Quads into the digest, with allocation per operation from the GC profiler.
+ * Run with: mvn test -Pbenchmark -Dtest=CanonicalHashBenchmarkTest
+ */
+
+@Tag("benchmark")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CanonicalHashBenchmarkTest {
+
+	@Param({ "input.vc.jsonld", "input.vp.jsonld" })
+	private String fixture;
+
+	private JsonLDObject jsonLdObject;
+
+	@Setup
+	public void setup() {
+
+		this.jsonLdObject = JsonLDObject.fromJson(new InputStreamReader(CanonicalHashBenchmarkTest.class.getResourceAsStream(this.fixture)));
+		this.jsonLdObject.setDocumentLoader(NormalizationAlgorithmTest.documentLoader);
+	}
+
+	@Benchmark
+	public byte[] normalizeAndDigest() throws Exception {
+		return DigestUtils.sha256(this.jsonLdObject.normalize("urdna2015"));
+	}
+
+	@Benchmark
+	public byte[] canonicalHash() throws Exception {
+		return this.jsonLdObject.canonicalHash("urdna2015", "SHA-256");
+	}
+
+	@Test
+	public void runBenchmarks() throws Exception {
+
+		new Runner(new OptionsBuilder()
+				.include(CanonicalHashBenchmarkTest.class.getName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
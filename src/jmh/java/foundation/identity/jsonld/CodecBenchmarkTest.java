@@ -0,0 +1,93 @@
+package foundation.identity.jsonld;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compares JSON, CBOR and Smile serialization and parsing on the test fixtures; encoded sizes are printed at setup.
+ * Run with: mvn test -Pbenchmark -Dtest=CodecBenchmarkTest
+ */
+
+@Tag("benchmark")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmarkTest {
+
+	@Param({ "input.vc.jsonld", "input.vp.jsonld", "security-v3-unstable.jsonld" })
+	private String fixture;
+
+	private JsonLDObject jsonLdObject;
+	private String json;
+	private byte[] cbor;
+	private byte[] smile;
+
+	@Setup
+	public void setup() {
+
+		this.jsonLdObject = JsonLDObject.fromJson(new InputStreamReader(CodecBenchmarkTest.class.getResourceAsStream(this.fixture)));
+		this.json = this.jsonLdObject.toJson();
+		this.cbor = this.jsonLdObject.toCbor();
+		this.smile = this.jsonLdObject.toSmile();
+
+		System.out.println(this.fixture + " bytes json/cbor/smile: " + this.json.getBytes(StandardCharsets.UTF_8).length + " / " + this.cbor.length + " / " + this.smile.length);
+	}
+
+	@Benchmark
+	public String writeJson() {
+		return this.jsonLdObject.toJson();
+	}
+
+	@Benchmark
+	public byte[] writeCbor() {
+		return this.jsonLdObject.toCbor();
+	}
+
+	@Benchmark
+	public byte[] writeSmile() {
+		return this.jsonLdObject.toSmile();
+	}
+
+	@Benchmark
+	public JsonLDObject parseJson() {
+		return JsonLDObject.fromJson(this.json);
+	}
+
+	@Benchmark
+	public JsonLDObject parseCbor() {
+		return JsonLDObject.fromCbor(this.cbor);
+	}
+
+	@Benchmark
+	public JsonLDObject parseSmile() {
+		return JsonLDObject.fromSmile(this.smile);
+	}
+
+	@Test
+	public void runBenchmarks() throws Exception {
+
+		new Runner(new OptionsBuilder()
+				.include(CodecBenchmarkTest.class.getName())
+				.build()).run();
+	}
+}
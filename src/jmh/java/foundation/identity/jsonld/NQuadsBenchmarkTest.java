@@ -0,0 +1,79 @@
+package foundation.identity.jsonld;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.InputStreamReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compares String and reusable-buffer N-Quads serialization, with allocation per operation from the GC profiler.
+ * Run with: mvn test -Pbenchmark
+ */
+
+@Tag("benchmark")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NQuadsBenchmarkTest {
+
+	private JsonLDObject jsonLdObject;
+
+	@Setup
+	public void setup() {
+
+		this.jsonLdObject = JsonLDObject.fromJson(new InputStreamReader(NQuadsBenchmarkTest.class.getResourceAsStream("input.vp.jsonld")));
+		this.jsonLdObject.setDocumentLoader(NormalizationAlgorithmTest.documentLoader);
+	}
+
+	@Benchmark
+	public String normalize() throws Exception {
+		return this.jsonLdObject.normalize("urdna2015");
+	}
+
+	@Benchmark
+	public CharSequence normalizeToReusableBuffer() throws Exception {
+		return this.jsonLdObject.normalizeToReusableBuffer("urdna2015");
+	}
+
+	@Benchmark
+	public String toNQuads() throws Exception {
+		return this.jsonLdObject.toNQuads();
+	}
+
+	@Benchmark
+	public CharSequence toNQuadsReusableBuffer() throws Exception {
+		return this.jsonLdObject.toNQuadsReusableBuffer();
+	}
+
+	@Benchmark
+	public List<String> canonicalQuads() throws Exception {
+		return this.jsonLdObject.canonicalQuads("urdna2015");
+	}
+
+	@Test
+	public void runBenchmarks() throws Exception {
+
+		new Runner(new OptionsBuilder()
+				.include(NQuadsBenchmarkTest.class.getName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
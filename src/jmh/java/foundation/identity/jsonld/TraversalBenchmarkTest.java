@@ -0,0 +1,145 @@
+package foundation.identity.jsonld;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObject;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Iterative traversal on a 10k-deep chain and on a 1M-node tree with the target last,
+ * against the former recursive findByIdInJsonLdObject (which overflows the stack on the deep chain).
+ * Run with: mvn test -Pbenchmark -Dtest=TraversalBenchmarkTest
+ */
+
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TraversalBenchmarkTest {
+
+	private static final URI TARGET = URI.create("urn:target");
+
+	private JsonLDObject deepJsonLdObject;
+	private JsonLDObject wideJsonLdObject;
+	private JsonObject wideJsonObject;
+
+	@Setup
+	public void setup() {
+
+		Map<String, Object> jsonObject = new LinkedHashMap<>();
+		jsonObject.put("id", TARGET.toString());
+		for (int i = 0; i < 10000; i++) {
+			Map<String, Object> parent = new LinkedHashMap<>();
+			parent.put("child", i % 2 == 0 ? jsonObject : Collections.singletonList(jsonObject));
+			jsonObject = parent;
+		}
+		this.deepJsonLdObject = JsonLDObject.fromMap(jsonObject);
+
+		List<Object> items = new ArrayList<>(1000);
+		JsonArrayBuilder itemsBuilder = Json.createArrayBuilder();
+		for (int i = 0; i < 1000; i++) {
+			List<Object> children = new ArrayList<>(1000);
+			JsonArrayBuilder childrenBuilder = Json.createArrayBuilder();
+			for (int j = 0; j < 1000; j++) {
+				boolean target = i == 999 && j == 999;
+				Map<String, Object> child = new LinkedHashMap<>();
+				child.put(target ? "id" : "name", target ? TARGET.toString() : "n" + j);
+				children.add(child);
+				childrenBuilder.add(Json.createObjectBuilder().add(target ? "id" : "name", target ? TARGET.toString() : "n" + j));
+			}
+			Map<String, Object> item = new LinkedHashMap<>();
+			item.put("id", "urn:item:" + i);
+			item.put("children", children);
+			items.add(item);
+			itemsBuilder.add(Json.createObjectBuilder().add("id", "urn:item:" + i).add("children", childrenBuilder));
+		}
+		Map<String, Object> root = new LinkedHashMap<>();
+		root.put("items", items);
+		this.wideJsonLdObject = JsonLDObject.fromMap(root);
+		this.wideJsonObject = Json.createObjectBuilder().add("items", itemsBuilder).build();
+	}
+
+	@Benchmark
+	public JsonLDObject findByIdDeep() {
+		return JsonLDDereferencer.findByIdInJsonLdObject(this.deepJsonLdObject, TARGET, null);
+	}
+
+	@Benchmark
+	public JsonLDObject findByIdWide() {
+		return JsonLDDereferencer.findByIdInJsonLdObject(this.wideJsonLdObject, TARGET, null);
+	}
+
+	@Benchmark
+	public JsonLDObject findByIdWideRecursive() {
+		return recursiveFindById(this.wideJsonLdObject, TARGET);
+	}
+
+	@Benchmark
+	public int forEachJakartaJsonObjectWide() {
+		int[] count = new int[1];
+		JsonLDTraversal.forEachJakartaJsonObject(this.wideJsonObject, jsonObject -> { count[0]++; return true; });
+		return count[0];
+	}
+
+	/*
+	 * The recursive walk that findByIdInJsonLdObject used before, for absolute URIs only
+	 */
+
+	private static JsonLDObject recursiveFindById(JsonLDObject jsonLdObject, URI uri) {
+
+		if (uri.equals(jsonLdObject.getId())) return jsonLdObject;
+
+		for (Object value : jsonLdObject.getJsonObject().values()) {
+			JsonLDObject found = null;
+			if (value instanceof Map) found = recursiveFindById(JsonLDObject.fromMap((Map<String, Object>) value), uri);
+			else if (value instanceof List) found = recursiveFindByIdInList((List<Object>) value, uri);
+			if (found != null) return found;
+		}
+
+		return null;
+	}
+
+	private static JsonLDObject recursiveFindByIdInList(List<Object> list, URI uri) {
+
+		for (Object value : list) {
+			JsonLDObject found = null;
+			if (value instanceof Map) found = recursiveFindById(JsonLDObject.fromMap((Map<String, Object>) value), uri);
+			else if (value instanceof List) found = recursiveFindByIdInList((List<Object>) value, uri);
+			if (found != null) return found;
+		}
+
+		return null;
+	}
+
+	@Test
+	public void runBenchmarks() throws Exception {
+
+		new Runner(new OptionsBuilder()
+				.include(TraversalBenchmarkTest.class.getName())
+				.build()).run();
+	}
+}
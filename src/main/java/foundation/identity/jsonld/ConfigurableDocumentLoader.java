@@ -1,6 +1,7 @@
 package foundation.identity.jsonld;
 
 import com.apicatalog.jsonld.JsonLdError;
+import com.apicatalog.jsonld.JsonLdErrorCode;
 import com.apicatalog.jsonld.document.Document;
 import com.apicatalog.jsonld.document.JsonDocument;
 import com.apicatalog.jsonld.loader.DocumentLoader;
@@ -9,19 +10,42 @@ import com.apicatalog.jsonld.loader.FileLoader;
 import com.apicatalog.jsonld.loader.HttpLoader;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.json.JsonStructure;
+import org.apache.commons.codec.digest.DigestUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 
 public class ConfigurableDocumentLoader implements DocumentLoader {
 
-    private HttpClient httpClient = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NEVER).build();
-    private DocumentLoader httpLoader = new HttpLoader(this.httpClient);
+    private HttpLoaderConfiguration httpLoaderConfiguration = HttpLoaderConfiguration.DEFAULT;
+    private ExecutorService httpExecutor = createHttpExecutor(this.httpLoaderConfiguration);
+    private HttpClient httpClient = createHttpClient(this.httpLoaderConfiguration, this.httpExecutor);
+    private DocumentLoader httpLoader = createHttpLoader(this.httpClient, this.httpLoaderConfiguration);
     private DocumentLoader fileLoader = new FileLoader();
 
     private boolean enableLocalCache = true;
@@ -31,9 +55,24 @@ public class ConfigurableDocumentLoader implements DocumentLoader {
 
     private Map<URI, JsonDocument> localCache = new HashMap<URI, JsonDocument> ();
     private Cache<URI, Document> remoteCache = null;
+    private DiskDocumentCache diskCache = null;
     private List<URI> httpContexts = new ArrayList<URI>();
     private List<URI> httpsContexts = new ArrayList<URI>();
     private List<URI> fileContexts = new ArrayList<URI>();
+    private Map<URI, String> pinnedContexts = Collections.emptyMap();
+
+    private Duration negativeCacheTtl = Duration.ZERO;
+    private int circuitBreakerFailureThreshold = 0;
+    private Duration circuitBreakerOpenDuration = Duration.ofSeconds(30);
+    private Duration logInterval = Duration.ofMinutes(1);
+
+    private static final int MAX_FAILED_LOADS = 1024;
+    private static final int MAX_LOG_STATES = 1024;
+
+    private final Map<URI, Document> verifiedLocalCache = new ConcurrentHashMap<URI, Document> ();
+    private final Map<URI, FailedLoad> failedLoads = new ConcurrentHashMap<URI, FailedLoad> ();
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<String, CircuitBreaker> ();
+    private final Map<Object, long[]> logStates = new ConcurrentHashMap<Object, long[]> ();
 
     public ConfigurableDocumentLoader() {
 
@@ -46,46 +85,433 @@ public class ConfigurableDocumentLoader implements DocumentLoader {
 
     @Override
     public Document loadDocument(URI url, DocumentLoaderOptions options) throws JsonLdError {
+        return this.loadDocument(url, options, null);
+    }
+
+    /*
+     * The fetch guard is called right before a document is actually fetched over HTTP(S), after all caches,
+     * the negative cache and the circuit breaker; it can refuse the fetch by throwing.
+     */
+
+    public interface FetchGuard {
+        void beforeFetch(URI url) throws JsonLdError;
+    }
+
+    public Document loadDocument(URI url, DocumentLoaderOptions options, FetchGuard fetchGuard) throws JsonLdError {
 
         if (this.isEnableLocalCache() && this.getLocalCache().containsKey(url)) {
-            return this.getLocalCache().get(url);
+            Document document = this.getLocalCache().get(url);
+            if (this.verifiedLocalCache.get(url) != document) {
+                this.verifyPinnedContext(url, document);
+                this.verifiedLocalCache.put(url, document);
+            }
+            return document;
         }
         if (this.isEnableHttp() && "http".equalsIgnoreCase(url.getScheme())) {
             if (!this.getHttpContexts().isEmpty() && !this.getHttpContexts().contains(url)) return null;
-            Document document = this.getRemoteCache() == null ? null : this.getRemoteCache().getIfPresent(url);
-            if (document == null) {
-                document = this.getHttpLoader().loadDocument(url, options);
-                if (this.getRemoteCache() != null) this.getRemoteCache().put(url, document);
-            }
-            return document;
+            return this.loadRemoteDocument(url, options, this.getHttpLoader(), fetchGuard);
         }
         if (this.isEnableHttps() && "https".equalsIgnoreCase(url.getScheme())) {
             if (!this.getHttpsContexts().isEmpty() && !this.getHttpsContexts().contains(url)) return null;
-            Document document = this.getRemoteCache() == null ? null : this.getRemoteCache().getIfPresent(url);
-            if (document == null) {
-                document = this.getHttpLoader().loadDocument(url, options);
-                if (this.getRemoteCache() != null) this.getRemoteCache().put(url, document);
-            }
-            return document;
+            return this.loadRemoteDocument(url, options, this.getHttpLoader(), fetchGuard);
         }
         if (this.isEnableFile() && "file".equalsIgnoreCase(url.getScheme())) {
             if (!this.getFileContexts().isEmpty() && !this.getFileContexts().contains(url)) return null;
-            Document document = this.getRemoteCache() == null ? null : this.getRemoteCache().getIfPresent(url);
-            if (document == null) {
-                document = this.getFileLoader().loadDocument(url, options);
-                if (this.getRemoteCache() != null) this.getRemoteCache().put(url, document);
+            return this.loadRemoteDocument(url, options, this.getFileLoader(), null);
+        }
+
+        return this.cannotLoad(url);
+    }
+
+    private Document loadRemoteDocument(URI url, DocumentLoaderOptions options, DocumentLoader documentLoader, FetchGuard fetchGuard) throws JsonLdError {
+
+        Document document = this.getRemoteCache() == null ? null : this.getRemoteCache().getIfPresent(url);
+        if (document != null) return document;
+
+        document = this.loadDiskCachedDocument(url);
+        if (document != null) return document;
+
+        FailedLoad failedLoad = this.failedLoads.get(url);
+        if (failedLoad != null) {
+            if (failedLoad.expires - System.nanoTime() > 0) throw failedLoad.error(url);
+            this.failedLoads.remove(url, failedLoad);
+        }
+
+        CircuitBreaker circuitBreaker = this.circuitBreaker(url);
+        CircuitBreaker.Permit permit = circuitBreaker == null ? null : circuitBreaker.acquire();
+        if (permit == CircuitBreaker.Permit.REJECTED) {
+            this.log(url.getAuthority(), "Circuit open, not loading contexts from " + url.getAuthority());
+            throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Circuit open for " + url.getAuthority() + ", not loading " + url);
+        }
+
+        if (fetchGuard != null) {
+            try {
+                fetchGuard.beforeFetch(url);
+            } catch (JsonLdError | RuntimeException ex) {
+                if (circuitBreaker != null) circuitBreaker.release(permit);
+                throw ex;
             }
-            return document;
         }
 
-        Logger.getLogger(this.getClass().getName()).warning("Cannot load context: " + url);
+        try {
+            document = documentLoader.loadDocument(url, options);
+            if (circuitBreaker != null) circuitBreaker.success();
+        } catch (JsonLdError ex) {
+            if (circuitBreaker != null && circuitBreaker.failure()) this.log(url.getAuthority(), "Circuit opened after " + this.getCircuitBreakerFailureThreshold() + " failures for " + url.getAuthority());
+            this.failed(url, ex);
+            throw ex;
+        } catch (RuntimeException ex) {
+            if (circuitBreaker != null && circuitBreaker.failure()) this.log(url.getAuthority(), "Circuit opened after " + this.getCircuitBreakerFailureThreshold() + " failures for " + url.getAuthority());
+            throw ex;
+        } finally {
+            if (circuitBreaker != null) circuitBreaker.release(permit);
+        }
+
+        try {
+            this.verifyPinnedContext(url, document);
+        } catch (JsonLdError ex) {
+            this.failed(url, ex);
+            throw ex;
+        }
+
+        if (this.getRemoteCache() != null) this.getRemoteCache().put(url, document);
+        if (this.getDiskCache() != null) {
+            try {
+                this.getDiskCache().put(url, document);
+            } catch (IOException ex) {
+                this.log(this.getDiskCache(), "Cannot write context " + url + " to disk cache: " + ex.getMessage());
+            }
+        }
+        return document;
+    }
+
+    private Document loadDiskCachedDocument(URI url) {
+
+        if (this.getDiskCache() == null) return null;
+
+        Document document;
+        try {
+            document = this.getDiskCache().get(url);
+        } catch (IOException ex) {
+            this.log(this.getDiskCache(), "Cannot read context " + url + " from disk cache: " + ex.getMessage());
+            return null;
+        }
+        if (document == null) return null;
+
+        try {
+            this.verifyPinnedContext(url, document);
+        } catch (JsonLdError ex) {
+            try {
+                this.getDiskCache().invalidate(url);
+            } catch (IOException ex2) {
+                this.log(this.getDiskCache(), "Cannot invalidate context " + url + " in disk cache: " + ex2.getMessage());
+            }
+            return null;
+        }
+        if (this.getRemoteCache() != null) this.getRemoteCache().put(url, document);
+        return document;
+    }
+
+    private Document cannotLoad(URI url) {
+
+        this.log(url, "Cannot load context: " + url);
         return null;
     }
 
+    /*
+     * Failure handling
+     */
+
+    private static class FailedLoad {
+
+        private final JsonLdError error;
+        private final long expires;
+
+        private FailedLoad(JsonLdError error, long expires) {
+            this.error = error;
+            this.expires = expires;
+        }
+
+        private JsonLdError error(URI url) {
+            JsonLdError error = new JsonLdError(this.error.getCode(), "Recently failed to load " + url + ": " + this.error.getMessage());
+            error.initCause(this.error);
+            return error;
+        }
+    }
+
+    /*
+     * While open, one trial request is let through after the open duration. Only the request that acquired
+     * the trial permit ends the trial, so late results of older requests cannot let a second trial through.
+     */
+
+    private static class CircuitBreaker {
+
+        private enum Permit {
+            REJECTED,
+            ALLOWED,
+            TRIAL
+        }
+
+        private final int failureThreshold;
+        private final long openNanos;
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicBoolean trial = new AtomicBoolean();
+        private volatile long openUntil;
+        private volatile boolean open = false;
+
+        private CircuitBreaker(int failureThreshold, long openNanos) {
+            this.failureThreshold = failureThreshold;
+            this.openNanos = openNanos;
+        }
+
+        private Permit acquire() {
+            if (! this.open) return Permit.ALLOWED;
+            if (this.openUntil - System.nanoTime() > 0) return Permit.REJECTED;
+            return this.trial.compareAndSet(false, true) ? Permit.TRIAL : Permit.REJECTED;
+        }
+
+        private void success() {
+            this.failures.set(0);
+            this.open = false;
+        }
+
+        private boolean failure() {
+            boolean wasOpen = this.open;
+            if (this.failures.incrementAndGet() < this.failureThreshold && ! wasOpen) return false;
+            this.openUntil = System.nanoTime() + this.openNanos;
+            this.open = true;
+            return ! wasOpen;
+        }
+
+        private void release(Permit permit) {
+            if (permit == Permit.TRIAL) this.trial.set(false);
+        }
+    }
+
+    private void failed(URI url, JsonLdError ex) {
+
+        long ttl = this.getNegativeCacheTtl().toNanos();
+        if (ttl <= 0) return;
+
+        long now = System.nanoTime();
+        if (this.failedLoads.size() >= MAX_FAILED_LOADS) this.failedLoads.values().removeIf(failedLoad -> failedLoad.expires - now <= 0);
+        if (this.failedLoads.size() < MAX_FAILED_LOADS) this.failedLoads.put(url, new FailedLoad(ex, now + ttl));
+    }
+
+    private CircuitBreaker circuitBreaker(URI url) {
+
+        if (this.getCircuitBreakerFailureThreshold() <= 0 || url.getAuthority() == null) return null;
+        return this.circuitBreakers.computeIfAbsent(url.getAuthority(), authority -> new CircuitBreaker(this.getCircuitBreakerFailureThreshold(), this.getCircuitBreakerOpenDuration().toNanos()));
+    }
+
+    private void log(Object key, String message) {
+
+        long now = System.nanoTime();
+        long interval = this.getLogInterval().toNanos();
+        if (this.logStates.size() >= MAX_LOG_STATES && ! this.logStates.containsKey(key)) this.evictLogStates(now, interval);
+        long[] logState = this.logStates.computeIfAbsent(key, x -> new long[] { now - interval, 0 });
+
+        String suppressed;
+        synchronized (logState) {
+            if (now - logState[0] < interval) {
+                logState[1]++;
+                return;
+            }
+            suppressed = logState[1] > 0 ? " (" + logState[1] + " similar messages suppressed)" : "";
+            logState[0] = now;
+            logState[1] = 0;
+        }
+
+        Logger.getLogger(this.getClass().getName()).warning(message + suppressed);
+    }
+
+    private void evictLogStates(long now, long interval) {
+
+        this.logStates.values().removeIf(logState -> {
+            synchronized (logState) {
+                return now - logState[0] >= interval && logState[1] == 0;
+            }
+        });
+
+        Iterator<Object> keys = this.logStates.keySet().iterator();
+        while (this.logStates.size() >= MAX_LOG_STATES && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /*
+     * HTTP client
+     */
+
+    private static ExecutorService createHttpExecutor(HttpLoaderConfiguration httpLoaderConfiguration) {
+
+        if (httpLoaderConfiguration.getExecutorThreads() <= 0) return null;
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(httpLoaderConfiguration.getExecutorThreads(), httpLoaderConfiguration.getExecutorThreads(), 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(httpLoaderConfiguration.getExecutorQueueCapacity()), runnable -> {
+            Thread thread = new Thread(runnable, "jsonld-document-loader-http");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static HttpClient createHttpClient(HttpLoaderConfiguration httpLoaderConfiguration, ExecutorService httpExecutor) {
+
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .version(httpLoaderConfiguration.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1);
+        if (httpLoaderConfiguration.getConnectTimeout() != null) builder.connectTimeout(httpLoaderConfiguration.getConnectTimeout());
+        if (httpExecutor != null) builder.executor(httpExecutor);
+        return builder.build();
+    }
+
+    private static DocumentLoader createHttpLoader(HttpClient httpClient, HttpLoaderConfiguration httpLoaderConfiguration) {
+
+        return new HttpLoader(new ConfiguredHttpClient(httpClient, httpLoaderConfiguration));
+    }
+
+    private static class ConfiguredHttpClient implements com.apicatalog.jsonld.http.HttpClient {
+
+        private final HttpClient httpClient;
+        private final HttpLoaderConfiguration httpLoaderConfiguration;
+        private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<String, Semaphore> ();
+
+        private ConfiguredHttpClient(HttpClient httpClient, HttpLoaderConfiguration httpLoaderConfiguration) {
+            this.httpClient = httpClient;
+            this.httpLoaderConfiguration = httpLoaderConfiguration;
+        }
+
+        @Override
+        public com.apicatalog.jsonld.http.HttpResponse send(URI targetUri, String requestProfile) throws JsonLdError {
+
+            HttpRequest.Builder builder = HttpRequest.newBuilder().GET().uri(targetUri).header("Accept", requestProfile);
+            if (this.httpLoaderConfiguration.getRequestTimeout() != null) builder.timeout(this.httpLoaderConfiguration.getRequestTimeout());
+
+            Semaphore permits = this.acquire(targetUri);
+            try {
+                return new ConfiguredHttpResponse(this.httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream()), permits);
+            } catch (InterruptedException ex) {
+                if (permits != null) permits.release();
+                Thread.currentThread().interrupt();
+                throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, ex);
+            } catch (IOException | RuntimeException ex) {
+                if (permits != null) permits.release();
+                throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, ex);
+            }
+        }
+
+        private Semaphore acquire(URI targetUri) throws JsonLdError {
+
+            if (this.httpLoaderConfiguration.getMaxConcurrentFetchesPerHost() == Integer.MAX_VALUE || targetUri.getAuthority() == null) return null;
+
+            Semaphore permits = this.hostPermits.computeIfAbsent(targetUri.getAuthority(), authority -> new Semaphore(this.httpLoaderConfiguration.getMaxConcurrentFetchesPerHost()));
+            Duration timeout = this.httpLoaderConfiguration.getRequestTimeout();
+            try {
+                if (timeout == null) permits.acquire();
+                else if (! permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Timed out waiting for a fetch slot for " + targetUri.getAuthority());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, ex);
+            }
+            return permits;
+        }
+    }
+
+    private static class ConfiguredHttpResponse implements com.apicatalog.jsonld.http.HttpResponse {
+
+        private final HttpResponse<InputStream> response;
+        private final AtomicReference<Semaphore> permits;
+
+        private ConfiguredHttpResponse(HttpResponse<InputStream> response, Semaphore permits) {
+            this.response = response;
+            this.permits = new AtomicReference<>(permits);
+        }
+
+        @Override
+        public int statusCode() {
+            return this.response.statusCode();
+        }
+
+        @Override
+        public InputStream body() {
+            return this.response.body();
+        }
+
+        @Override
+        public Collection<String> links() {
+            return this.response.headers().map().get("link");
+        }
+
+        @Override
+        public Optional<String> contentType() {
+            return this.response.headers().firstValue("content-type");
+        }
+
+        @Override
+        public Optional<String> location() {
+            return this.response.headers().firstValue("location");
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                this.response.body().close();
+            } finally {
+                Semaphore permits = this.permits.getAndSet(null);
+                if (permits != null) permits.release();
+            }
+        }
+    }
+
+    /*
+     * Pinned contexts
+     */
+
+    /*
+     * A pin is the hex SHA-256 of the UTF-8 bytes of the context's RFC 8785 (JCS) canonical JSON form,
+     * e.g. the output of "canonicalize < context.jsonld | sha256sum". It does not depend on the fetched
+     * bytes' whitespace or member order, or on the JSON-P implementation.
+     */
+
+    public static String contextHash(Document document) throws JsonLdError {
+
+        JsonStructure jsonStructure = document == null ? null : document.getJsonContent().orElse(null);
+        if (jsonStructure == null) throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Cannot hash context without JSON content.");
+        return DigestUtils.sha256Hex(JsonCanonicalizer.canonicalize(jsonStructure).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void verifyPinnedContext(URI url, Document document) throws JsonLdError {
+
+        String pinnedHash = this.getPinnedContexts().get(url);
+        if (pinnedHash == null) return;
+
+        String hash = contextHash(document);
+        if (! pinnedHash.equalsIgnoreCase(hash)) throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Pinned context hash mismatch for " + url + ": expected " + pinnedHash + ", got " + hash);
+    }
+
     /*
      * Getters and setters
      */
 
+    public HttpLoaderConfiguration getHttpLoaderConfiguration() {
+        return this.httpLoaderConfiguration;
+    }
+
+    public void setHttpLoaderConfiguration(HttpLoaderConfiguration httpLoaderConfiguration) {
+        ExecutorService previousHttpExecutor = this.httpExecutor;
+        this.httpLoaderConfiguration = httpLoaderConfiguration;
+        this.httpExecutor = createHttpExecutor(httpLoaderConfiguration);
+        this.httpClient = createHttpClient(httpLoaderConfiguration, this.httpExecutor);
+        this.httpLoader = createHttpLoader(this.httpClient, httpLoaderConfiguration);
+        if (previousHttpExecutor != null) previousHttpExecutor.shutdown();
+    }
+
+    public ExecutorService getHttpExecutor() {
+        return this.httpExecutor;
+    }
+
     public HttpClient getHttpClient() {
         return this.httpClient;
     }
@@ -148,6 +574,7 @@ public class ConfigurableDocumentLoader implements DocumentLoader {
 
     public void setLocalCache(Map<URI, JsonDocument> localCache) {
         this.localCache = localCache;
+        this.verifiedLocalCache.clear();
     }
 
     public Cache<URI, Document> getRemoteCache() {
@@ -158,6 +585,14 @@ public class ConfigurableDocumentLoader implements DocumentLoader {
         this.remoteCache = remoteCache;
     }
 
+    public DiskDocumentCache getDiskCache() {
+        return this.diskCache;
+    }
+
+    public void setDiskCache(DiskDocumentCache diskCache) {
+        this.diskCache = diskCache;
+    }
+
     public List<URI> getHttpContexts() {
         return this.httpContexts;
     }
@@ -181,4 +616,52 @@ public class ConfigurableDocumentLoader implements DocumentLoader {
     public void setFileContexts(List<URI> fileContexts) {
         this.fileContexts = fileContexts;
     }
+
+    public Map<URI, String> getPinnedContexts() {
+        return this.pinnedContexts;
+    }
+
+    /*
+     * Pinned hashes are copied; verified local contexts are only re-checked when they are replaced through this setter
+     */
+
+    public void setPinnedContexts(Map<URI, String> pinnedContexts) {
+        this.pinnedContexts = Collections.unmodifiableMap(new HashMap<URI, String> (pinnedContexts));
+        this.verifiedLocalCache.clear();
+    }
+
+    public Duration getNegativeCacheTtl() {
+        return this.negativeCacheTtl;
+    }
+
+    public void setNegativeCacheTtl(Duration negativeCacheTtl) {
+        this.negativeCacheTtl = negativeCacheTtl;
+        this.failedLoads.clear();
+    }
+
+    public int getCircuitBreakerFailureThreshold() {
+        return this.circuitBreakerFailureThreshold;
+    }
+
+    public void setCircuitBreakerFailureThreshold(int circuitBreakerFailureThreshold) {
+        this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+        this.circuitBreakers.clear();
+    }
+
+    public Duration getCircuitBreakerOpenDuration() {
+        return this.circuitBreakerOpenDuration;
+    }
+
+    public void setCircuitBreakerOpenDuration(Duration circuitBreakerOpenDuration) {
+        this.circuitBreakerOpenDuration = circuitBreakerOpenDuration;
+        this.circuitBreakers.clear();
+    }
+
+    public Duration getLogInterval() {
+        return this.logInterval;
+    }
+
+    public void setLogInterval(Duration logInterval) {
+        this.logInterval = logInterval;
+    }
 }
@@ -0,0 +1,226 @@
+package foundation.identity.jsonld;
+
+import com.apicatalog.jsonld.JsonLdError;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.http.media.MediaType;
+import jakarta.json.JsonStructure;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+public class DiskDocumentCache {
+
+    private static final String SUFFIX = ".jsonld";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final Duration ttl;
+    private final long maxBytes;
+    private final AtomicLong size = new AtomicLong();
+    private final Object lock = new Object();
+
+    public DiskDocumentCache(Path directory, Duration ttl, long maxBytes) throws IOException {
+        if (directory == null || ttl == null) throw new NullPointerException();
+        this.directory = Files.createDirectories(directory);
+        this.ttl = ttl;
+        this.maxBytes = maxBytes;
+        this.deleteTemporaryFiles();
+        this.size.set(this.scan().stream().mapToLong(entry -> entry.size).sum());
+    }
+
+    /*
+     * Reading and writing
+     */
+
+    public Document get(URI url) throws IOException {
+
+        Path file = this.file(url);
+
+        FileTime lastModified;
+        try {
+            lastModified = Files.getLastModifiedTime(file);
+        } catch (NoSuchFileException ex) {
+            // not cached
+            return null;
+        }
+        if (lastModified.toMillis() + this.ttl.toMillis() < System.currentTimeMillis()) {
+            this.deleteIfUnmodified(file, lastModified);
+            return null;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String storedUrl = reader.readLine();
+            String mediaType = reader.readLine();
+            if (! url.toString().equals(storedUrl) || mediaType == null) return null;
+            JsonDocument document = JsonDocument.of(MediaType.of(mediaType), reader);
+            document.setDocumentUrl(url);
+            return document;
+        } catch (NoSuchFileException ex) {
+            // evicted or invalidated after the TTL check
+            return null;
+        } catch (JsonLdError ex) {
+            this.deleteIfUnmodified(file, lastModified);
+            return null;
+        }
+    }
+
+    public void put(URI url, Document document) throws IOException {
+
+        JsonStructure jsonStructure = document.getJsonContent().orElse(null);
+        if (jsonStructure == null) return;
+        String mediaType = document.getContentType() == null ? MediaType.JSON_LD.toString() : document.getContentType().toString();
+
+        Path file = this.file(url);
+        Path temporaryFile = Files.createTempFile(this.directory, file.getFileName().toString(), TEMPORARY_SUFFIX);
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                writer.write(url.toString());
+                writer.write('\n');
+                writer.write(mediaType);
+                writer.write('\n');
+                writer.write(jsonStructure.toString());
+            }
+            long newSize = Files.size(temporaryFile);
+            synchronized (this.lock) {
+                long previousSize = fileSize(file);
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                if (this.size.addAndGet(newSize - previousSize) > this.maxBytes) this.evict();
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    public void invalidate(URI url) throws IOException {
+        this.delete(this.file(url));
+    }
+
+    public long size() {
+        return this.size.get();
+    }
+
+    /*
+     * Helper methods
+     */
+
+    private Path file(URI url) {
+        return this.directory.resolve(DigestUtils.sha256Hex(url.toString()) + SUFFIX);
+    }
+
+    private void delete(Path file) throws IOException {
+        synchronized (this.lock) {
+            long fileSize = fileSize(file);
+            if (Files.deleteIfExists(file)) this.size.addAndGet(-fileSize);
+        }
+    }
+
+    /*
+     * A put() may have replaced the file since it was found expired or unreadable; only the file that was seen is deleted.
+     */
+
+    private void deleteIfUnmodified(Path file, FileTime lastModified) throws IOException {
+        synchronized (this.lock) {
+            try {
+                if (! Files.getLastModifiedTime(file).equals(lastModified)) return;
+            } catch (NoSuchFileException ex) {
+                // already evicted or invalidated
+                return;
+            }
+            this.delete(file);
+        }
+    }
+
+    /*
+     * Temporary files are only left behind by writes that crashed before the move
+     */
+
+    private void deleteTemporaryFiles() throws IOException {
+
+        try (Stream<Path> files = Files.list(this.directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(TEMPORARY_SUFFIX)) Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static long fileSize(Path file) throws IOException {
+        try {
+            return Files.size(file);
+        } catch (NoSuchFileException ex) {
+            // size and deletion are only changed under the lock, so a missing file is simply not cached
+            return 0;
+        }
+    }
+
+    private void evict() throws IOException {
+
+        if (this.size.get() <= this.maxBytes) return;
+
+        List<Entry> entries = this.scan();
+        entries.sort(Comparator.comparing(entry -> entry.lastModified));
+        long total = entries.stream().mapToLong(entry -> entry.size).sum();
+        for (Entry entry : entries) {
+            if (total <= this.maxBytes) break;
+            if (Files.deleteIfExists(entry.file)) total -= entry.size;
+        }
+        this.size.set(total);
+    }
+
+    private List<Entry> scan() throws IOException {
+
+        List<Entry> entries = new ArrayList<>();
+        try (Stream<Path> files = Files.list(this.directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (! file.getFileName().toString().endsWith(SUFFIX)) continue;
+                try {
+                    entries.add(new Entry(file, Files.size(file), Files.getLastModifiedTime(file)));
+                } catch (NoSuchFileException ex) {
+                    // deleted while listing, nothing to account for
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static class Entry {
+
+        private final Path file;
+        private final long size;
+        private final FileTime lastModified;
+
+        private Entry(Path file, long size, FileTime lastModified) {
+            this.file = file;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+
+    /*
+     * Getters
+     */
+
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    public Duration getTtl() {
+        return this.ttl;
+    }
+
+    public long getMaxBytes() {
+        return this.maxBytes;
+    }
+}
@@ -0,0 +1,88 @@
+package foundation.identity.jsonld;
+
+import com.apicatalog.jsonld.document.Document;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonValue;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+public class DocumentCaches {
+
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int REFERENCE_SIZE = 8;
+    private static final int STRING_OVERHEAD = 40;
+    private static final int MAP_ENTRY_OVERHEAD = 56;
+    private static final int NUMBER_SIZE = 32;
+    private static final int DOCUMENT_OVERHEAD = 128;
+
+    private DocumentCaches() {
+    }
+
+    /*
+     * Factory methods
+     */
+
+    public static Cache<URI, Document> newRemoteCache(long maxBytes) {
+
+        return Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((URI url, Document document) -> (int) Math.min(Integer.MAX_VALUE, estimateSize(url, document)))
+                .recordStats()
+                .build();
+    }
+
+    /*
+     * Size estimation
+     */
+
+    public static long estimateSize(URI url, Document document) {
+
+        long size = DOCUMENT_OVERHEAD + stringSize(url == null ? null : url.toString());
+        JsonStructure jsonStructure = document == null ? null : document.getJsonContent().orElse(null);
+        if (jsonStructure == null) return size;
+
+        Deque<JsonValue> stack = new ArrayDeque<>();
+        stack.push(jsonStructure);
+
+        while (! stack.isEmpty()) {
+
+            JsonValue jsonValue = stack.pop();
+
+            switch (jsonValue.getValueType()) {
+                case OBJECT:
+                    size += OBJECT_OVERHEAD * 6;
+                    for (Map.Entry<String, JsonValue> entry : ((JsonObject) jsonValue).entrySet()) {
+                        size += MAP_ENTRY_OVERHEAD + stringSize(entry.getKey());
+                        stack.push(entry.getValue());
+                    }
+                    break;
+                case ARRAY:
+                    size += OBJECT_OVERHEAD * 2 + REFERENCE_SIZE * ((JsonArray) jsonValue).size();
+                    for (JsonValue element : (JsonArray) jsonValue) stack.push(element);
+                    break;
+                case STRING:
+                    size += OBJECT_OVERHEAD + stringSize(((JsonString) jsonValue).getString());
+                    break;
+                case NUMBER:
+                    size += NUMBER_SIZE;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return size;
+    }
+
+    private static long stringSize(String string) {
+        return string == null ? 0 : STRING_OVERHEAD + string.length();
+    }
+}
@@ -0,0 +1,115 @@
+package foundation.identity.jsonld;
+
+import java.time.Duration;
+
+/*
+ * The defaults match Titanium's own HttpLoader: no connect or request timeout (null), no per-host limit,
+ * HTTP/2 with fallback, and the HttpClient's default executor (executorThreads 0).
+ *
+ * With executorThreads > 0 the executor queues at most executorQueueCapacity tasks (default 1024);
+ * once the queue is full, further tasks run on the submitting thread instead of growing the queue.
+ */
+
+public class HttpLoaderConfiguration {
+
+    public static final HttpLoaderConfiguration DEFAULT = builder().build();
+
+    private final Duration connectTimeout;
+    private final Duration requestTimeout;
+    private final int maxConcurrentFetchesPerHost;
+    private final boolean http2;
+    private final int executorThreads;
+    private final int executorQueueCapacity;
+
+    private HttpLoaderConfiguration(Duration connectTimeout, Duration requestTimeout, int maxConcurrentFetchesPerHost, boolean http2, int executorThreads, int executorQueueCapacity) {
+        this.connectTimeout = connectTimeout;
+        this.requestTimeout = requestTimeout;
+        this.maxConcurrentFetchesPerHost = maxConcurrentFetchesPerHost;
+        this.http2 = http2;
+        this.executorThreads = executorThreads;
+        this.executorQueueCapacity = executorQueueCapacity;
+    }
+
+    /*
+     * Factory methods
+     */
+
+    public static class Builder {
+
+        private Duration connectTimeout = null;
+        private Duration requestTimeout = null;
+        private int maxConcurrentFetchesPerHost = Integer.MAX_VALUE;
+        private boolean http2 = true;
+        private int executorThreads = 0;
+        private int executorQueueCapacity = 1024;
+
+        private Builder() {
+        }
+
+        public HttpLoaderConfiguration build() {
+            return new HttpLoaderConfiguration(this.connectTimeout, this.requestTimeout, this.maxConcurrentFetchesPerHost, this.http2, this.executorThreads, this.executorQueueCapacity);
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        public Builder maxConcurrentFetchesPerHost(int maxConcurrentFetchesPerHost) {
+            this.maxConcurrentFetchesPerHost = maxConcurrentFetchesPerHost;
+            return this;
+        }
+
+        public Builder http2(boolean http2) {
+            this.http2 = http2;
+            return this;
+        }
+
+        public Builder executorThreads(int executorThreads) {
+            this.executorThreads = executorThreads;
+            return this;
+        }
+
+        public Builder executorQueueCapacity(int executorQueueCapacity) {
+            this.executorQueueCapacity = executorQueueCapacity;
+            return this;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /*
+     * Getters
+     */
+
+    public Duration getConnectTimeout() {
+        return this.connectTimeout;
+    }
+
+    public Duration getRequestTimeout() {
+        return this.requestTimeout;
+    }
+
+    public int getMaxConcurrentFetchesPerHost() {
+        return this.maxConcurrentFetchesPerHost;
+    }
+
+    public boolean isHttp2() {
+        return this.http2;
+    }
+
+    public int getExecutorThreads() {
+        return this.executorThreads;
+    }
+
+    public int getExecutorQueueCapacity() {
+        return this.executorQueueCapacity;
+    }
+}
@@ -0,0 +1,129 @@
+package foundation.identity.jsonld;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/*
+ * JSON Canonicalization Scheme (RFC 8785): object members sorted by the UTF-16 code units of their names,
+ * no whitespace, minimal string escaping, and numbers serialized like ECMAScript's Number.prototype.toString.
+ */
+
+public class JsonCanonicalizer {
+
+    private JsonCanonicalizer() {
+    }
+
+    public static String canonicalize(JsonValue jsonValue) {
+
+        StringBuilder builder = new StringBuilder();
+        write(builder, jsonValue);
+        return builder.toString();
+    }
+
+    /*
+     * Helper methods
+     */
+
+    private static void write(StringBuilder builder, JsonValue jsonValue) {
+
+        switch (jsonValue.getValueType()) {
+            case OBJECT:
+                JsonObject jsonObject = (JsonObject) jsonValue;
+                String[] names = jsonObject.keySet().toArray(new String[0]);
+                Arrays.sort(names);
+                builder.append('{');
+                for (int i = 0; i < names.length; i++) {
+                    if (i > 0) builder.append(',');
+                    writeString(builder, names[i]);
+                    builder.append(':');
+                    write(builder, jsonObject.get(names[i]));
+                }
+                builder.append('}');
+                break;
+            case ARRAY:
+                JsonArray jsonArray = (JsonArray) jsonValue;
+                builder.append('[');
+                for (int i = 0; i < jsonArray.size(); i++) {
+                    if (i > 0) builder.append(',');
+                    write(builder, jsonArray.get(i));
+                }
+                builder.append(']');
+                break;
+            case STRING:
+                writeString(builder, ((JsonString) jsonValue).getString());
+                break;
+            case NUMBER:
+                writeNumber(builder, ((JsonNumber) jsonValue).doubleValue());
+                break;
+            case TRUE:
+                builder.append("true");
+                break;
+            case FALSE:
+                builder.append("false");
+                break;
+            default:
+                builder.append("null");
+                break;
+        }
+    }
+
+    private static void writeString(StringBuilder builder, String string) {
+
+        builder.append('"');
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            switch (c) {
+                case '\b': builder.append("\\b"); break;
+                case '\t': builder.append("\\t"); break;
+                case '\n': builder.append("\\n"); break;
+                case '\f': builder.append("\\f"); break;
+                case '\r': builder.append("\\r"); break;
+                case '"': builder.append("\\\""); break;
+                case '\\': builder.append("\\\\"); break;
+                default:
+                    if (c < 0x20) builder.append(String.format("\\u%04x", (int) c));
+                    else builder.append(c);
+            }
+        }
+        builder.append('"');
+    }
+
+    private static void writeNumber(StringBuilder builder, double d) {
+
+        if (Double.isNaN(d) || Double.isInfinite(d)) throw new IllegalArgumentException("Cannot canonicalize number: " + d);
+        if (d == 0) {
+            builder.append('0');
+            return;
+        }
+        if (d < 0) {
+            builder.append('-');
+            d = -d;
+        }
+
+        BigDecimal decimal = new BigDecimal(Double.toString(d)).stripTrailingZeros();
+        String digits = decimal.unscaledValue().toString();
+        int k = digits.length();
+        int n = k - decimal.scale();
+
+        if (k <= n && n <= 21) {
+            builder.append(digits);
+            for (int i = k; i < n; i++) builder.append('0');
+        } else if (0 < n && n <= 21) {
+            builder.append(digits, 0, n).append('.').append(digits, n, k);
+        } else if (-6 < n && n <= 0) {
+            builder.append("0.");
+            for (int i = n; i < 0; i++) builder.append('0');
+            builder.append(digits);
+        } else {
+            builder.append(digits.charAt(0));
+            if (k > 1) builder.append('.').append(digits, 1, k);
+            builder.append('e').append(n - 1 < 0 ? '-' : '+').append(Math.abs(n - 1));
+        }
+    }
+}
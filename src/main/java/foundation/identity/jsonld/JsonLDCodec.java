@@ -0,0 +1,228 @@
+package foundation.identity.jsonld;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class JsonLDCodec {
+
+	public static final String BLACKBIRD_MODULE_CLASS = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
+	public static final JsonLDCodec DEFAULT = builder().build();
+
+	private final ObjectMapper objectMapper;
+	private final ObjectMapper objectMapperInterning;
+	private final ObjectWriter objectWriterDefault;
+	private final ObjectWriter objectWriterPretty;
+	private final List<Module> modules;
+
+	private volatile ObjectMapper objectMapperCbor = null;
+	private volatile ObjectMapper objectMapperSmile = null;
+
+	private JsonLDCodec(ObjectMapper objectMapper, List<Module> modules, JsonLDStringInterner stringInterner) {
+		this.objectMapper = objectMapper;
+		this.modules = modules;
+		this.objectMapperInterning = objectMapper.copy().registerModule(stringInterner.toModule());
+		this.objectWriterDefault = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		this.objectWriterPretty = objectMapper.writerWithDefaultPrettyPrinter().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+	}
+
+	/*
+	 * Factory methods
+	 */
+
+	public static class Builder {
+
+		private JsonFactory jsonFactory = null;
+		private ObjectMapper objectMapper = null;
+		private boolean blackbird = false;
+		private List<Module> modules = new ArrayList<>();
+		private JsonLDStringInterner stringInterner = JsonLDStringInterner.DEFAULT;
+
+		private Builder() {
+		}
+
+		public JsonLDCodec build() {
+
+			if (this.jsonFactory != null && this.objectMapper != null) throw new IllegalStateException("Cannot set both JSON factory and object mapper.");
+
+			ObjectMapper objectMapper;
+			if (this.objectMapper != null) objectMapper = this.objectMapper.copy();
+			else if (this.jsonFactory != null) objectMapper = new ObjectMapper(this.jsonFactory);
+			else objectMapper = new ObjectMapper();
+
+			List<Module> modules = new ArrayList<>();
+			if (this.blackbird) modules.add(loadBlackbirdModule());
+			modules.addAll(this.modules);
+			objectMapper.registerModules(modules);
+
+			return new JsonLDCodec(objectMapper, modules, this.stringInterner);
+		}
+
+		public Builder jsonFactory(JsonFactory jsonFactory) {
+			this.jsonFactory = jsonFactory;
+			return this;
+		}
+
+		public Builder objectMapper(ObjectMapper objectMapper) {
+			this.objectMapper = objectMapper;
+			return this;
+		}
+
+		public Builder blackbird(boolean blackbird) {
+			this.blackbird = blackbird;
+			return this;
+		}
+
+		public Builder module(Module module) {
+			this.modules.add(module);
+			return this;
+		}
+
+		public Builder stringInterner(JsonLDStringInterner stringInterner) {
+			this.stringInterner = stringInterner;
+			return this;
+		}
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/*
+	 * Reading and writing
+	 */
+
+	public Map<String, Object> readJson(Reader reader, boolean intern) throws IOException {
+		return (intern ? this.objectMapperInterning : this.objectMapper).readValue(reader, Map.class);
+	}
+
+	public String writeJson(Map<String, Object> jsonObject, boolean pretty) throws IOException {
+		return this.getObjectWriter(pretty).writeValueAsString(jsonObject);
+	}
+
+	public void writeJson(Map<String, Object> jsonObject, Writer writer, boolean pretty) throws IOException {
+		this.getObjectWriter(pretty).writeValue(writer, jsonObject);
+	}
+
+	public void writeJson(Map<String, Object> jsonObject, OutputStream outputStream, boolean pretty) throws IOException {
+		this.getObjectWriter(pretty).writeValue(outputStream, jsonObject);
+	}
+
+	public Map<String, Object> readCbor(InputStream inputStream) throws IOException {
+		return this.getObjectMapperCbor().readValue(inputStream, Map.class);
+	}
+
+	public Map<String, Object> readCbor(byte[] bytes) throws IOException {
+		return this.getObjectMapperCbor().readValue(bytes, Map.class);
+	}
+
+	public byte[] writeCbor(Map<String, Object> jsonObject) throws IOException {
+		return this.getObjectMapperCbor().writeValueAsBytes(jsonObject);
+	}
+
+	public void writeCbor(Map<String, Object> jsonObject, OutputStream outputStream) throws IOException {
+		this.getObjectMapperCbor().writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(outputStream, jsonObject);
+	}
+
+	public Map<String, Object> readSmile(InputStream inputStream) throws IOException {
+		return this.getObjectMapperSmile().readValue(inputStream, Map.class);
+	}
+
+	public Map<String, Object> readSmile(byte[] bytes) throws IOException {
+		return this.getObjectMapperSmile().readValue(bytes, Map.class);
+	}
+
+	public byte[] writeSmile(Map<String, Object> jsonObject) throws IOException {
+		return this.getObjectMapperSmile().writeValueAsBytes(jsonObject);
+	}
+
+	public void writeSmile(Map<String, Object> jsonObject, OutputStream outputStream) throws IOException {
+		this.getObjectMapperSmile().writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(outputStream, jsonObject);
+	}
+
+	/*
+	 * Getters
+	 */
+
+	public ObjectMapper getObjectMapper() {
+		return this.objectMapper;
+	}
+
+	public ObjectWriter getObjectWriter(boolean pretty) {
+		return pretty ? this.objectWriterPretty : this.objectWriterDefault;
+	}
+
+	public ObjectMapper getObjectMapperCbor() {
+		if (this.objectMapperCbor == null) {
+			try {
+				this.objectMapperCbor = this.binaryObjectMapper(CborSupport.createJsonFactory());
+			} catch (NoClassDefFoundError ex) {
+				throw new IllegalStateException("CBOR is not available (requires com.fasterxml.jackson.dataformat:jackson-dataformat-cbor): " + ex.getMessage(), ex);
+			}
+		}
+		return this.objectMapperCbor;
+	}
+
+	public ObjectMapper getObjectMapperSmile() {
+		if (this.objectMapperSmile == null) {
+			try {
+				this.objectMapperSmile = this.binaryObjectMapper(SmileSupport.createJsonFactory());
+			} catch (NoClassDefFoundError ex) {
+				throw new IllegalStateException("Smile is not available (requires com.fasterxml.jackson.dataformat:jackson-dataformat-smile): " + ex.getMessage(), ex);
+			}
+		}
+		return this.objectMapperSmile;
+	}
+
+	/*
+	 * Helper methods
+	 */
+
+	private ObjectMapper binaryObjectMapper(JsonFactory jsonFactory) {
+		ObjectMapper objectMapper = new ObjectMapper(jsonFactory);
+		objectMapper.setConfig(this.objectMapper.getDeserializationConfig());
+		objectMapper.setConfig(this.objectMapper.getSerializationConfig());
+		return objectMapper.registerModules(this.modules);
+	}
+
+	/*
+	 * The binary data formats are optional dependencies, so they are only linked on first use.
+	 */
+
+	private static class CborSupport {
+		private static JsonFactory createJsonFactory() {
+			return new CBORFactory();
+		}
+	}
+
+	private static class SmileSupport {
+		private static JsonFactory createJsonFactory() {
+			return new SmileFactory();
+		}
+	}
+
+	private static Module loadBlackbirdModule() {
+		try {
+			return (Module) Class.forName(BLACKBIRD_MODULE_CLASS).getConstructor().newInstance();
+		} catch (ClassNotFoundException ex) {
+			throw new IllegalStateException("Blackbird module is not available (requires com.fasterxml.jackson.module:jackson-module-blackbird): " + ex.getMessage(), ex);
+		} catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException ex) {
+			throw new IllegalStateException("Cannot instantiate Blackbird module: " + ex.getMessage(), ex);
+		}
+	}
+}
@@ -0,0 +1,229 @@
+package foundation.identity.jsonld;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class JsonLDDeduplicator {
+
+    public static final String NORMALIZATION_ALGORITHM = "urdna2015";
+    public static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final int DIGEST_LENGTH = 32;
+
+    public interface Listener {
+
+        void unique(long index, JsonLDObject jsonLdObject);
+
+        void duplicate(long index, long firstIndex, JsonLDObject jsonLdObject);
+
+        void failed(long index, JsonLDObject jsonLdObject, Exception ex);
+    }
+
+    public static class Result {
+
+        private final List<JsonLDObject> uniques = new ArrayList<>();
+        private final Map<Long, List<Long>> duplicateGroups = new LinkedHashMap<>();
+        private final Map<Long, Exception> failures = new LinkedHashMap<>();
+
+        public List<JsonLDObject> getUniques() {
+            return this.uniques;
+        }
+
+        /*
+         * Keyed by the input index of the first occurrence; each group lists the input indexes of all its occurrences
+         */
+
+        public Map<Long, List<Long>> getDuplicateGroups() {
+            return this.duplicateGroups;
+        }
+
+        public Map<Long, Exception> getFailures() {
+            return this.failures;
+        }
+    }
+
+    private final int parallelism;
+    private final int maxInFlight;
+
+    public JsonLDDeduplicator(int parallelism, int maxInFlight) {
+        if (parallelism < 1 || maxInFlight < 1) throw new IllegalArgumentException("Invalid parallelism " + parallelism + " or max in flight " + maxInFlight);
+        this.parallelism = parallelism;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public JsonLDDeduplicator(int parallelism) {
+        this(parallelism, parallelism * 4);
+    }
+
+    public JsonLDDeduplicator() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /*
+     * Deduplication
+     */
+
+    public long deduplicate(Iterator<? extends JsonLDObject> jsonLdObjects, Listener listener) throws NoSuchAlgorithmException, IOException {
+
+        MessageDigest.getInstance(DIGEST_ALGORITHM);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "jsonld-deduplicator");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+
+            CanonicalHashSet canonicalHashSet = new CanonicalHashSet(1024);
+            Deque<JsonLDObject> pendingJsonLdObjects = new ArrayDeque<>(this.maxInFlight);
+            Deque<Future<byte[]>> pendingHashes = new ArrayDeque<>(this.maxInFlight);
+            long index = 0;
+
+            while (jsonLdObjects.hasNext() || ! pendingHashes.isEmpty()) {
+
+                while (jsonLdObjects.hasNext() && pendingHashes.size() < this.maxInFlight) {
+                    JsonLDObject jsonLdObject = jsonLdObjects.next();
+                    pendingJsonLdObjects.add(jsonLdObject);
+                    pendingHashes.add(executorService.submit(() -> jsonLdObject.canonicalHash(NORMALIZATION_ALGORITHM, DIGEST_ALGORITHM)));
+                }
+
+                JsonLDObject jsonLdObject = pendingJsonLdObjects.poll();
+                byte[] canonicalHash;
+                try {
+                    canonicalHash = await(pendingHashes.poll());
+                } catch (ExecutionException ex) {
+                    listener.failed(index++, jsonLdObject, (Exception) ex.getCause());
+                    continue;
+                }
+
+                long firstIndex = canonicalHashSet.putIfAbsent(canonicalHash, index);
+                if (firstIndex < 0)
+                    listener.unique(index, jsonLdObject);
+                else
+                    listener.duplicate(index, firstIndex, jsonLdObject);
+                index++;
+            }
+
+            return index;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    public Result deduplicate(Iterable<? extends JsonLDObject> jsonLdObjects) throws NoSuchAlgorithmException, IOException {
+
+        Result result = new Result();
+
+        this.deduplicate(jsonLdObjects.iterator(), new Listener() {
+
+            @Override
+            public void unique(long index, JsonLDObject jsonLdObject) {
+                result.uniques.add(jsonLdObject);
+            }
+
+            @Override
+            public void duplicate(long index, long firstIndex, JsonLDObject jsonLdObject) {
+                result.duplicateGroups.computeIfAbsent(firstIndex, x -> new ArrayList<>(Collections.singletonList(firstIndex))).add(index);
+            }
+
+            @Override
+            public void failed(long index, JsonLDObject jsonLdObject, Exception ex) {
+                result.failures.put(index, ex);
+            }
+        });
+
+        return result;
+    }
+
+    /*
+     * Helper methods
+     */
+
+    /*
+     * A failed hash is a per-document failure and is rethrown as ExecutionException with an Exception cause
+     */
+
+    private static byte[] await(Future<byte[]> future) throws ExecutionException, IOException {
+
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while computing canonical hash.");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Error) throw (Error) cause;
+            throw ex;
+        }
+    }
+
+    /*
+     * Open-addressing set of SHA-256 digests, stored flat with the index of their first occurrence
+     */
+
+    static class CanonicalHashSet {
+
+        private byte[] digests;
+        private long[] indexes;
+        private int size;
+
+        CanonicalHashSet(int initialCapacity) {
+            int capacity = Integer.highestOneBit(Math.max(16, initialCapacity - 1) << 1);
+            this.digests = new byte[capacity * DIGEST_LENGTH];
+            this.indexes = new long[capacity];
+            Arrays.fill(this.indexes, -1);
+        }
+
+        long putIfAbsent(byte[] digest, long index) {
+
+            if (digest.length != DIGEST_LENGTH) throw new IllegalArgumentException("Invalid digest length: " + digest.length);
+
+            int mask = this.indexes.length - 1;
+            for (int slot = slot(digest, 0) & mask; ; slot = (slot + 1) & mask) {
+                if (this.indexes[slot] < 0) {
+                    System.arraycopy(digest, 0, this.digests, slot * DIGEST_LENGTH, DIGEST_LENGTH);
+                    this.indexes[slot] = index;
+                    if (++this.size * 2 > this.indexes.length) this.grow();
+                    return -1;
+                }
+                if (Arrays.equals(this.digests, slot * DIGEST_LENGTH, slot * DIGEST_LENGTH + DIGEST_LENGTH, digest, 0, DIGEST_LENGTH)) return this.indexes[slot];
+            }
+        }
+
+        int size() {
+            return this.size;
+        }
+
+        private void grow() {
+
+            if (this.digests.length > Integer.MAX_VALUE / 2) throw new IllegalStateException("Too many canonical hashes: " + this.size);
+
+            byte[] oldDigests = this.digests;
+            long[] oldIndexes = this.indexes;
+            this.digests = new byte[oldDigests.length * 2];
+            this.indexes = new long[oldIndexes.length * 2];
+            Arrays.fill(this.indexes, -1);
+
+            int mask = this.indexes.length - 1;
+            for (int oldSlot = 0; oldSlot < oldIndexes.length; oldSlot++) {
+                if (oldIndexes[oldSlot] < 0) continue;
+                int slot = slot(oldDigests, oldSlot * DIGEST_LENGTH) & mask;
+                while (this.indexes[slot] >= 0) slot = (slot + 1) & mask;
+                System.arraycopy(oldDigests, oldSlot * DIGEST_LENGTH, this.digests, slot * DIGEST_LENGTH, DIGEST_LENGTH);
+                this.indexes[slot] = oldIndexes[oldSlot];
+            }
+        }
+
+        private static int slot(byte[] digest, int offset) {
+            return (digest[offset] & 0xff) | (digest[offset + 1] & 0xff) << 8 | (digest[offset + 2] & 0xff) << 16 | (digest[offset + 3] & 0xff) << 24;
+        }
+    }
+}
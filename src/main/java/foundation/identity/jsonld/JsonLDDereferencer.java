@@ -4,6 +4,10 @@ import com.apicatalog.jsonld.uri.UriResolver;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -50,46 +54,65 @@ public class JsonLDDereferencer {
 
     public static JsonLDObject findByIdInJsonLdObject(JsonLDObject jsonLdObject, URI uri, URI baseUri) {
 
-        if (jsonLdObject.getId() != null) {
+        URI[] findId = new URI[1];
+        JsonLDObject[] result = new JsonLDObject[1];
 
-            URI findId = uri;
-            if (! findId.isAbsolute() && baseUri == null) throw new IllegalArgumentException("No base URI for relative uri " + findId);
-            findId = URI.create(UriResolver.resolve(baseUri, findId.toString()));
+        JsonLDTraversal.forEachJsonObject(jsonLdObject.getJsonObject(), jsonObject -> {
 
-            URI idUri = jsonLdObject.getId();
-            if (! idUri.isAbsolute() && baseUri == null) throw new IllegalArgumentException("No base URI for relative 'id' uri " + uri);
-            idUri = URI.create(UriResolver.resolve(baseUri, idUri.toString()));
+            if (jsonObject.get(JsonLDKeywords.JSONLD_TERM_ID) == null) return true;
 
-            if (findId.equals(idUri)) return jsonLdObject;
-        }
-
-        for (Object value : jsonLdObject.getJsonObject().values()) {
-            if (value instanceof Map) {
-                JsonLDObject foundJsonLDObject = findByIdInJsonLdObject(JsonLDObject.fromMap((Map<String, Object>) value), uri, baseUri);
-                if (foundJsonLDObject != null) return foundJsonLDObject;
-            }
-            else if (value instanceof List) {
-                JsonLDObject foundJsonLDObject = findByIdInList((List<Object>) value, uri, baseUri);
-                if (foundJsonLDObject != null) return foundJsonLDObject;
+            if (findId[0] == null) {
+                if (! uri.isAbsolute() && baseUri == null) throw new IllegalArgumentException("No base URI for relative uri " + uri);
+                findId[0] = URI.create(UriResolver.resolve(baseUri, uri.toString()));
             }
-        }
 
-        return null;
+            if (! findId[0].equals(resolveId(jsonObject, baseUri))) return true;
+
+            result[0] = jsonObject == jsonLdObject.getJsonObject() ? jsonLdObject : JsonLDObject.fromMap(jsonObject);
+            return false;
+        });
+
+        return result[0];
     }
 
-    private static JsonLDObject findByIdInList(List<Object> list, URI uri, URI baseUri) {
+    public static Map<URI, JsonLDObject> findAllByIds(JsonLDObject jsonLdObject, Collection<URI> uris, URI baseUri) {
 
-        for (Object value : list) {
-            if (value instanceof Map) {
-                JsonLDObject foundJsonLDObject = findByIdInJsonLdObject(JsonLDObject.fromMap((Map<String, Object>) value), uri, baseUri);
-                if (foundJsonLDObject != null) return foundJsonLDObject;
-            }
-            else if (value instanceof List) {
-                JsonLDObject foundJsonLDObject = findByIdInList((List<Object>) value, uri, baseUri);
-                if (foundJsonLDObject != null) return foundJsonLDObject;
-            }
+        // several requested URIs can resolve to the same absolute URI, each of them gets the match
+
+        Map<URI, List<URI>> findIds = new HashMap<>();
+        for (URI uri : uris) {
+            if (! uri.isAbsolute() && baseUri == null) throw new IllegalArgumentException("No base URI for relative uri " + uri);
+            List<URI> requestedUris = findIds.computeIfAbsent(URI.create(UriResolver.resolve(baseUri, uri.toString())), x -> new ArrayList<>(1));
+            if (! requestedUris.contains(uri)) requestedUris.add(uri);
         }
 
-        return null;
+        Map<URI, JsonLDObject> result = new LinkedHashMap<>();
+        if (findIds.isEmpty()) return result;
+
+        int[] remaining = { findIds.size() };
+        JsonLDTraversal.forEachJsonObject(jsonLdObject.getJsonObject(), jsonObject -> {
+
+            if (jsonObject.get(JsonLDKeywords.JSONLD_TERM_ID) == null) return true;
+
+            List<URI> requestedUris = findIds.get(resolveId(jsonObject, baseUri));
+            if (requestedUris == null || result.containsKey(requestedUris.get(0))) return true;
+
+            JsonLDObject found = jsonObject == jsonLdObject.getJsonObject() ? jsonLdObject : JsonLDObject.fromMap(jsonObject);
+            for (URI uri : requestedUris) result.put(uri, found);
+            return --remaining[0] > 0;
+        });
+
+        return result;
+    }
+
+    /*
+     * Helper methods
+     */
+
+    private static URI resolveId(Map<String, Object> jsonObject, URI baseUri) {
+
+        URI idUri = JsonLDUtils.stringToUri(JsonLDUtils.jsonLdGetString(jsonObject, JsonLDKeywords.JSONLD_TERM_ID));
+        if (! idUri.isAbsolute() && baseUri == null) throw new IllegalArgumentException("No base URI for relative 'id' uri " + idUri);
+        return URI.create(UriResolver.resolve(baseUri, idUri.toString()));
     }
 }
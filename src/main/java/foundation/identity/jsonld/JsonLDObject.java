@@ -3,7 +3,11 @@ package foundation.identity.jsonld;
 import com.apicatalog.jsonld.JsonLd;
 import com.apicatalog.jsonld.JsonLdError;
 import com.apicatalog.jsonld.JsonLdOptions;
+import com.apicatalog.jsonld.api.CompactionApi;
+import com.apicatalog.jsonld.api.ExpansionApi;
+import com.apicatalog.jsonld.api.FramingApi;
 import com.apicatalog.jsonld.api.ToRdfApi;
+import com.apicatalog.jsonld.context.cache.Cache;
 import com.apicatalog.jsonld.document.JsonDocument;
 import com.apicatalog.jsonld.http.media.MediaType;
 import com.apicatalog.jsonld.lang.Keywords;
@@ -13,24 +17,36 @@ import com.apicatalog.rdf.io.nquad.NQuadsWriter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
+import foundation.identity.jsonld.normalization.CanonicalizationEngine;
+import foundation.identity.jsonld.normalization.CanonicalizationEngines;
+import foundation.identity.jsonld.normalization.MessageDigestWriter;
+import foundation.identity.jsonld.normalization.MessageDigests;
+import foundation.identity.jsonld.normalization.NQuadsBuffers;
+import foundation.identity.jsonld.normalization.NormalizationLimits;
+import foundation.identity.jsonld.normalization.StringBuilderWriter;
+import foundation.identity.jsonld.normalization.Urdna2015Normalizer;
 import io.setl.rdf.normalization.RdfNormalize;
 import jakarta.json.Json;
+import jakarta.json.JsonArray;
 import jakarta.json.JsonObject;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringReader;
-import java.io.StringWriter;
+import java.io.Writer;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class JsonLDObject {
 
@@ -39,13 +55,20 @@ public class JsonLDObject {
 	public static final String DEFAULT_JSONLD_PREDICATE = null;
 	public static final DocumentLoader DEFAULT_DOCUMENT_LOADER = null;
 
-	private static final ObjectMapper objectMapper = new ObjectMapper();
-	private static final ObjectWriter objectWriterDefault = objectMapper.writer();
-	private static final ObjectWriter objectWriterPretty = objectMapper.writerWithDefaultPrettyPrinter();
+	private static final int JSONLD_OPTIONS_CACHE_SIZE = 256;
+
+	private static volatile JsonLDCodec codec = JsonLDCodec.DEFAULT;
+	private static final Map<DocumentLoader, JsonLdOptions> jsonLdOptionsTemplates = Collections.synchronizedMap(new WeakHashMap<>());
 
 	private final Map<String, Object> jsonObject;
 	private DocumentLoader documentLoader;
 
+	private volatile ParsedValue<URI> parsedId = null;
+	private volatile ParsedValue<List<URI>> parsedContexts = null;
+	private volatile byte[] canonicalHash = null;
+	private volatile Integer structuralHash = null;
+	private volatile JsonDocument jsonDocument = null;
+
 	@JsonCreator
 	public JsonLDObject() {
 		this(new LinkedHashMap<String, Object>());
@@ -166,6 +189,30 @@ public class JsonLDObject {
 		return new JsonLDObject(readJson(json));
 	}
 
+	public static JsonLDObject fromJson(Reader reader, boolean intern) {
+		return new JsonLDObject(readJson(reader, intern));
+	}
+
+	public static JsonLDObject fromJson(String json, boolean intern) {
+		return new JsonLDObject(readJson(json, intern));
+	}
+
+	public static JsonLDObject fromCbor(InputStream inputStream) {
+		return new JsonLDObject(readCbor(inputStream));
+	}
+
+	public static JsonLDObject fromCbor(byte[] bytes) {
+		return new JsonLDObject(readCbor(bytes));
+	}
+
+	public static JsonLDObject fromSmile(InputStream inputStream) {
+		return new JsonLDObject(readSmile(inputStream));
+	}
+
+	public static JsonLDObject fromSmile(byte[] bytes) {
+		return new JsonLDObject(readSmile(bytes));
+	}
+
 	public static JsonLDObject fromMap(Map<String, Object> jsonObject) {
 		return new JsonLDObject(jsonObject);
 	}
@@ -226,9 +273,19 @@ public class JsonLDObject {
 	}
 
 	public void setDocumentLoader(DocumentLoader documentLoader) {
+		this.canonicalHash = null;
 		this.documentLoader = documentLoader;
 	}
 
+	public static JsonLDCodec getCodec() {
+		return codec;
+	}
+
+	public static void setCodec(JsonLDCodec codec) {
+		if (codec == null) throw new NullPointerException();
+		JsonLDObject.codec = codec;
+	}
+
 	@JsonValue
 	public Map<String, Object> getJsonObject() {
 		return this.jsonObject;
@@ -237,11 +294,26 @@ public class JsonLDObject {
 	@JsonAnySetter
 	public void setJsonObjectKeyValue(String key, Object value) {
 
+		this.invalidateCaches();
 		this.getJsonObject().put(key, value);
 	}
 
 	public List<URI> getContexts() {
-		return JsonLDUtils.jsonLdGetStringList(this.getJsonObject(), Keywords.CONTEXT).stream().map(JsonLDUtils::stringToUri).collect(Collectors.toList());
+		List<URI> contexts = this.getParsedContexts();
+		return contexts == null ? null : new ArrayList<>(contexts);
+	}
+
+	public final void forEachContext(Consumer<URI> consumer) {
+		List<URI> contexts = this.getParsedContexts();
+		if (contexts != null) for (URI context : contexts) consumer.accept(context);
+	}
+
+	public final boolean containsContext(URI context) {
+		return JsonLDUtils.jsonLdContainsString(this.getJsonObject(), Keywords.CONTEXT, JsonLDUtils.uriToString(context));
+	}
+
+	public final void forEachType(Consumer<String> consumer) {
+		JsonLDUtils.jsonLdForEachString(this.getJsonObject(), JsonLDKeywords.JSONLD_TERM_TYPE, consumer);
 	}
 
 	public final List<String> getTypes() {
@@ -257,23 +329,117 @@ public class JsonLDObject {
 	}
 
 	public final URI getId() {
-		return JsonLDUtils.stringToUri(JsonLDUtils.jsonLdGetString(this.getJsonObject(), JsonLDKeywords.JSONLD_TERM_ID));
+		Object raw = this.getJsonObject().get(JsonLDKeywords.JSONLD_TERM_ID);
+		ParsedValue<URI> parsedId = this.parsedId;
+		if (parsedId != null && parsedId.isParsedFrom(raw)) return parsedId.value;
+		URI id = JsonLDUtils.stringToUri(JsonLDUtils.jsonLdGetString(this.getJsonObject(), JsonLDKeywords.JSONLD_TERM_ID));
+		this.parsedId = new ParsedValue<>(raw, id);
+		return id;
+	}
+
+	private List<URI> getParsedContexts() {
+		Object raw = this.getJsonObject().get(Keywords.CONTEXT);
+		ParsedValue<List<URI>> parsedContexts = this.parsedContexts;
+		if (parsedContexts != null && parsedContexts.isParsedFrom(raw)) return parsedContexts.value;
+		List<String> contextStrings = JsonLDUtils.jsonLdGetStringList(this.getJsonObject(), Keywords.CONTEXT);
+		List<URI> contexts = contextStrings == null ? null : Collections.unmodifiableList(contextStrings.stream().map(JsonLDUtils::stringToUri).collect(Collectors.toList()));
+		this.parsedContexts = new ParsedValue<>(raw, contexts);
+		return contexts;
+	}
+
+	/*
+	 * Parsed values of JSON-LD properties, valid as long as the raw JSON values are unchanged
+	 */
+
+	private static class ParsedValue<T> {
+
+		private final Object raw;
+		private final Object[] rawElements;
+		private final T value;
+
+		private ParsedValue(Object raw, T value) {
+			this.raw = raw;
+			this.rawElements = raw instanceof List<?> ? ((List<?>) raw).toArray() : null;
+			this.value = value;
+		}
+
+		private boolean isParsedFrom(Object raw) {
+			if (raw != this.raw) return false;
+			if (this.rawElements == null) return true;
+			List<?> rawList = (List<?>) raw;
+			if (rawList.size() != this.rawElements.length) return false;
+			for (int i = 0; i < this.rawElements.length; i++) if (rawList.get(i) != this.rawElements[i]) return false;
+			return true;
+		}
+	}
+
+	/*
+	 * Values derived from the JSON object. The mutators of this class and JsonLDUtils call invalidateCaches();
+	 * code that changes the map from getJsonObject() or a nested object directly has to call it as well.
+	 */
+
+	public void invalidateCaches() {
+		this.parsedId = null;
+		this.parsedContexts = null;
+		this.canonicalHash = null;
+		this.structuralHash = null;
+		this.jsonDocument = null;
 	}
 
 	/*
 	 * Reading the JSON-LD object
 	 */
 
-	protected static Map<String, Object> readJson(Reader reader) {
+	protected static Map<String, Object> readJson(Reader reader, boolean intern) {
 		try {
-			return objectMapper.readValue(reader, Map.class);
+			return getCodec().readJson(reader, intern);
 		} catch (IOException ex) {
 			throw new RuntimeException("Cannot read JSON: " + ex.getMessage(), ex);
 		}
 	}
 
+	protected static Map<String, Object> readJson(String json, boolean intern) {
+		return readJson(new StringReader(json), intern);
+	}
+
+	protected static Map<String, Object> readJson(Reader reader) {
+		return readJson(reader, false);
+	}
+
 	protected static Map<String, Object> readJson(String json) {
-		return readJson(new StringReader(json));
+		return readJson(json, false);
+	}
+
+	protected static Map<String, Object> readCbor(InputStream inputStream) {
+		try {
+			return getCodec().readCbor(inputStream);
+		} catch (IOException ex) {
+			throw new RuntimeException("Cannot read CBOR: " + ex.getMessage(), ex);
+		}
+	}
+
+	protected static Map<String, Object> readCbor(byte[] bytes) {
+		try {
+			return getCodec().readCbor(bytes);
+		} catch (IOException ex) {
+			throw new RuntimeException("Cannot read CBOR: " + ex.getMessage(), ex);
+		}
+	}
+
+	protected static Map<String, Object> readSmile(InputStream inputStream) {
+		try {
+			return getCodec().readSmile(inputStream);
+		} catch (IOException ex) {
+			throw new RuntimeException("Cannot read Smile: " + ex.getMessage(), ex);
+		}
+	}
+
+	protected static Map<String, Object> readSmile(byte[] bytes) {
+		try {
+			return getCodec().readSmile(bytes);
+		} catch (IOException ex) {
+			throw new RuntimeException("Cannot read Smile: " + ex.getMessage(), ex);
+		}
 	}
 
 	/*
@@ -282,13 +448,8 @@ public class JsonLDObject {
 
 	public RdfDataset toDataset() throws JsonLDException {
 
-		JsonLdOptions options = new JsonLdOptions();
-		if (this.getDocumentLoader() != null) options.setDocumentLoader(this.getDocumentLoader());
-		options.setOrdered(true);
-
-		JsonDocument jsonDocument = JsonDocument.of(MediaType.JSON_LD, this.toJsonObject());
-		ToRdfApi toRdfApi = JsonLd.toRdf(jsonDocument);
-		toRdfApi.options(options);
+		ToRdfApi toRdfApi = JsonLd.toRdf(this.toJsonDocument());
+		toRdfApi.options(this.getJsonLdOptions());
 		try {
 			return toRdfApi.get();
 		} catch (JsonLdError ex) {
@@ -296,21 +457,71 @@ public class JsonLDObject {
 		}
 	}
 
+	public JsonArray expand() throws JsonLDException {
+
+		ExpansionApi expansionApi = JsonLd.expand(this.toJsonDocument());
+		expansionApi.options(this.getJsonLdOptions());
+		try {
+			return expansionApi.get();
+		} catch (JsonLdError ex) {
+			throw new JsonLDException(ex);
+		}
+	}
+
+	public JsonObject compact(JsonLDObject context) throws JsonLDException {
+
+		CompactionApi compactionApi = JsonLd.compact(this.toJsonDocument(), context.toJsonDocument());
+		compactionApi.options(this.getJsonLdOptions());
+		try {
+			return compactionApi.get();
+		} catch (JsonLdError ex) {
+			throw new JsonLDException(ex);
+		}
+	}
+
+	public JsonObject compact(URI context) throws JsonLDException {
+
+		JsonDocument contextDocument = JsonDocument.of(MediaType.JSON_LD, Json.createObjectBuilder().add(Keywords.CONTEXT, context.toString()).build());
+
+		CompactionApi compactionApi = JsonLd.compact(this.toJsonDocument(), contextDocument);
+		compactionApi.options(this.getJsonLdOptions());
+		try {
+			return compactionApi.get();
+		} catch (JsonLdError ex) {
+			throw new JsonLDException(ex);
+		}
+	}
+
+	public JsonObject frame(JsonLDObject frame) throws JsonLDException {
+
+		FramingApi framingApi = JsonLd.frame(this.toJsonDocument(), frame.toJsonDocument());
+		framingApi.options(this.getJsonLdOptions());
+		try {
+			return framingApi.get();
+		} catch (JsonLdError ex) {
+			throw new JsonLDException(ex);
+		}
+	}
+
 	public String toNQuads() throws JsonLDException, IOException {
 
-		RdfDataset rdfDataset = this.toDataset();
-		StringWriter stringWriter = new StringWriter();
-		NQuadsWriter nQuadsWriter = new NQuadsWriter(stringWriter);
-		nQuadsWriter.write(rdfDataset);
-		return stringWriter.toString();
+		return writeNQuads(this.toDataset()).toString();
+	}
+
+	/**
+	 * Zero-copy variant of toNQuads(). The result is a thread-local buffer that is only valid until the next
+	 * N-Quads serialization on the same thread; call toString() on it to keep it longer.
+	 */
+	public CharSequence toNQuadsReusableBuffer() throws JsonLDException, IOException {
+
+		return writeNQuads(this.toDataset());
 	}
 
 	public String toJson(boolean pretty) {
 
-		ObjectWriter objectWriter = pretty ? objectWriterPretty : objectWriterDefault;
 		try {
-			return objectWriter.writeValueAsString(this.getJsonObject());
-		} catch (JsonProcessingException ex) {
+			return getCodec().writeJson(this.getJsonObject(), pretty);
+		} catch (IOException ex) {
 			throw new RuntimeException("Cannot write JSON: " + ex.getMessage(), ex);
 		}
 	}
@@ -320,14 +531,177 @@ public class JsonLDObject {
 		return this.toJson(false);
 	}
 
+	public void toJson(Writer writer, boolean pretty) throws IOException {
+
+		getCodec().writeJson(this.getJsonObject(), writer, pretty);
+	}
+
+	public void toJson(Writer writer) throws IOException {
+
+		this.toJson(writer, false);
+	}
+
+	public void toJson(OutputStream outputStream, boolean pretty) throws IOException {
+
+		getCodec().writeJson(this.getJsonObject(), outputStream, pretty);
+	}
+
+	public void toJson(OutputStream outputStream) throws IOException {
+
+		this.toJson(outputStream, false);
+	}
+
+	public byte[] toCbor() {
+
+		try {
+			return getCodec().writeCbor(this.getJsonObject());
+		} catch (IOException ex) {
+			throw new RuntimeException("Cannot write CBOR: " + ex.getMessage(), ex);
+		}
+	}
+
+	public void toCbor(OutputStream outputStream) throws IOException {
+
+		getCodec().writeCbor(this.getJsonObject(), outputStream);
+	}
+
+	public byte[] toSmile() {
+
+		try {
+			return getCodec().writeSmile(this.getJsonObject());
+		} catch (IOException ex) {
+			throw new RuntimeException("Cannot write Smile: " + ex.getMessage(), ex);
+		}
+	}
+
+	public void toSmile(OutputStream outputStream) throws IOException {
+
+		getCodec().writeSmile(this.getJsonObject(), outputStream);
+	}
+
 	public String normalize(String algorithm) throws JsonLDException, NoSuchAlgorithmException, IOException {
 
+		return writeNQuads(algorithm, this.canonicalize(algorithm, NormalizationLimits.UNLIMITED)).toString();
+	}
+
+	/**
+	 * Zero-copy variant of normalize(algorithm). The result is a thread-local buffer that is only valid until the next
+	 * N-Quads serialization on the same thread; call toString() on it to keep it longer.
+	 */
+	public CharSequence normalizeToReusableBuffer(String algorithm) throws JsonLDException, NoSuchAlgorithmException, IOException {
+
+		return writeNQuads(algorithm, this.canonicalize(algorithm, NormalizationLimits.UNLIMITED));
+	}
+
+	public byte[] canonicalHash(String algorithm, String digestAlgorithm) throws JsonLDException, NoSuchAlgorithmException, IOException {
+
+		RdfDataset rdfDataset = this.canonicalize(algorithm, NormalizationLimits.UNLIMITED);
+		MessageDigestWriter messageDigestWriter = new MessageDigestWriter(MessageDigests.get(digestAlgorithm));
+		writeNQuads(algorithm, rdfDataset, messageDigestWriter);
+		return messageDigestWriter.digest();
+	}
+
+	public boolean semanticEquals(JsonLDObject that) throws JsonLDException, NoSuchAlgorithmException, IOException {
+		if (this == that) return true;
+		if (that == null) return false;
+		return Arrays.equals(this.getCachedCanonicalHash(), that.getCachedCanonicalHash());
+	}
+
+	private byte[] getCachedCanonicalHash() throws JsonLDException, NoSuchAlgorithmException, IOException {
+		byte[] canonicalHash = this.canonicalHash;
+		if (canonicalHash == null) this.canonicalHash = canonicalHash = this.canonicalHash("urdna2015", "SHA-256");
+		return canonicalHash;
+	}
+
+	public List<String> canonicalQuads(String algorithm) throws JsonLDException, NoSuchAlgorithmException, IOException {
+
+		RdfDataset rdfDataset = this.canonicalize(algorithm, NormalizationLimits.UNLIMITED);
+		StringBuilderWriter stringBuilderWriter = new StringBuilderWriter(256);
+		writeNQuads(algorithm, rdfDataset, stringBuilderWriter);
+
+		// literals escape line breaks, so every line is exactly one quad
+
+		StringBuilder builder = stringBuilderWriter.getBuilder();
+		List<String> canonicalQuads = new ArrayList<>(rdfDataset.size());
+		for (int start = 0, end; start < builder.length(); start = end + 1) {
+			end = builder.indexOf("\n", start);
+			canonicalQuads.add(builder.substring(start, end + 1));
+		}
+		return canonicalQuads;
+	}
+
+	public List<byte[]> canonicalQuadHashes(String algorithm, String digestAlgorithm, boolean parallel) throws JsonLDException, NoSuchAlgorithmException, IOException {
+
+		MessageDigests.get(digestAlgorithm);
+		List<String> canonicalQuads = this.canonicalQuads(algorithm);
+		Stream<String> stream = parallel ? canonicalQuads.parallelStream() : canonicalQuads.stream();
+		return stream.map(canonicalQuad -> {
+			try {
+				return MessageDigests.get(digestAlgorithm).digest(canonicalQuad.getBytes(StandardCharsets.UTF_8));
+			} catch (NoSuchAlgorithmException ex) {
+				throw new IllegalStateException(ex.getMessage(), ex);
+			}
+		}).collect(Collectors.toList());
+	}
+
+	public String normalize(String algorithm, NormalizationLimits limits) throws JsonLDException, NoSuchAlgorithmException, IOException {
+
+		return writeNQuads(algorithm, this.canonicalize(algorithm, limits)).toString();
+	}
+
+	/**
+	 * Zero-copy variant of normalize(algorithm, limits). The result is a thread-local buffer that is only valid until the next
+	 * N-Quads serialization on the same thread; call toString() on it to keep it longer.
+	 */
+	public CharSequence normalizeToReusableBuffer(String algorithm, NormalizationLimits limits) throws JsonLDException, NoSuchAlgorithmException, IOException {
+
+		return writeNQuads(algorithm, this.canonicalize(algorithm, limits));
+	}
+
+	/*
+	 * The returned buffer is reused by the next N-Quads serialization on the same thread.
+	 */
+
+	private static CharSequence writeNQuads(RdfDataset rdfDataset) throws IOException {
+
+		StringBuilderWriter stringBuilderWriter = NQuadsBuffers.get(rdfDataset.size());
+		new NQuadsWriter(stringBuilderWriter).write(rdfDataset);
+		return stringBuilderWriter.getBuilder();
+	}
+
+	private static CharSequence writeNQuads(String algorithm, RdfDataset rdfDataset) throws IOException {
+
+		StringBuilderWriter stringBuilderWriter = NQuadsBuffers.get(rdfDataset.size());
+		writeNQuads(algorithm, rdfDataset, stringBuilderWriter);
+		return stringBuilderWriter.getBuilder();
+	}
+
+	/*
+	 * Canonical output is written by the engine that produced it, so the bytes match what it hashed and sorted.
+	 */
+
+	private static void writeNQuads(String algorithm, RdfDataset rdfDataset, Writer writer) throws IOException {
+
+		CanonicalizationEngine engine = CanonicalizationEngines.get(algorithm);
+		if (engine == null) {
+			new NQuadsWriter(writer).write(rdfDataset);
+		} else {
+			engine.write(rdfDataset, writer);
+		}
+	}
+
+	private RdfDataset canonicalize(String algorithm, NormalizationLimits limits) throws JsonLDException, NoSuchAlgorithmException {
+
+		CanonicalizationEngine engine = CanonicalizationEngines.get(algorithm);
+		if (engine == null && limits != NormalizationLimits.UNLIMITED) throw new NoSuchAlgorithmException("Normalization algorithm does not support limits: " + algorithm);
+
 		RdfDataset rdfDataset = this.toDataset();
-		rdfDataset = RdfNormalize.normalize(rdfDataset, algorithm);
-		StringWriter stringWriter = new StringWriter();
-		NQuadsWriter nQuadsWriter = new NQuadsWriter(stringWriter);
-		nQuadsWriter.write(rdfDataset);
-		return stringWriter.getBuffer().toString();
+		if (engine == null) return RdfNormalize.normalize(rdfDataset, algorithm);
+
+		// URDNA2015 without limits stays on RdfNormalize for blank nodes; blank-node-free datasets are only sorted
+
+		if (engine == Urdna2015Normalizer.URDNA2015_ENGINE && limits == NormalizationLimits.UNLIMITED && Urdna2015Normalizer.hasBlankNodes(rdfDataset)) return RdfNormalize.normalize(rdfDataset, CanonicalizationEngines.URDNA2015);
+		return engine.canonicalize(rdfDataset, limits);
 	}
 
 	public Map<String, Object> toMap() {
@@ -338,10 +712,66 @@ public class JsonLDObject {
 		return Json.createObjectBuilder(this.getJsonObject()).build();
 	}
 
+	public JsonDocument toJsonDocument() {
+		JsonDocument jsonDocument = this.jsonDocument;
+		if (jsonDocument == null) this.jsonDocument = jsonDocument = JsonDocument.of(MediaType.JSON_LD, this.toJsonObject());
+		return jsonDocument;
+	}
+
 	/*
 	 * Helper methods
 	 */
 
+	/*
+	 * One options template per document loader. The copy per call shares the template's thread-safe caches.
+	 * Templates never reference their loader, so the weak keys can be collected.
+	 */
+
+	protected JsonLdOptions getJsonLdOptions() {
+		JsonLdOptions options = new JsonLdOptions(getJsonLdOptionsTemplate(this.getDocumentLoader()));
+		if (this.getDocumentLoader() != null) options.setDocumentLoader(this.getDocumentLoader());
+		return options;
+	}
+
+	private static JsonLdOptions getJsonLdOptionsTemplate(DocumentLoader documentLoader) {
+		return jsonLdOptionsTemplates.computeIfAbsent(documentLoader, k -> {
+			JsonLdOptions template = new JsonLdOptions();
+			template.setOrdered(true);
+			template.setContextCache(new BoundedCache<>(JSONLD_OPTIONS_CACHE_SIZE));
+			template.setDocumentCache(new BoundedCache<>(JSONLD_OPTIONS_CACHE_SIZE));
+			return template;
+		});
+	}
+
+	/*
+	 * Titanium checks containsKey() before get(), so entries are never evicted; puts beyond the bound are dropped.
+	 */
+
+	private static class BoundedCache<K, V> implements Cache<K, V> {
+
+		private final int maxSize;
+		private final Map<K, V> map = new ConcurrentHashMap<>();
+
+		private BoundedCache(int maxSize) {
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		public boolean containsKey(K key) {
+			return this.map.containsKey(key);
+		}
+
+		@Override
+		public V get(K key) {
+			return this.map.get(key);
+		}
+
+		@Override
+		public void put(K key, V value) {
+			if (this.map.size() < this.maxSize) this.map.putIfAbsent(key, value);
+		}
+	}
+
 	public static <C extends JsonLDObject> DocumentLoader getDefaultDocumentLoader(Class<C> cl) {
 		try {
 			Field field = cl.getField("DEFAULT_DOCUMENT_LOADER");
@@ -392,11 +822,16 @@ public class JsonLDObject {
 		if (this == o) return true;
 		if (o == null || getClass() != o.getClass()) return false;
 		JsonLDObject that = (JsonLDObject) o;
+		Integer thisHash = this.structuralHash;
+		Integer thatHash = that.structuralHash;
+		if (thisHash != null && thatHash != null && ! thisHash.equals(thatHash)) return false;
 		return Objects.equals(this.getJsonObject(), that.getJsonObject());
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.getJsonObject());
+		Integer structuralHash = this.structuralHash;
+		if (structuralHash == null) this.structuralHash = structuralHash = Objects.hash(this.getJsonObject());
+		return structuralHash;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,166 @@
+package foundation.identity.jsonld;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public class JsonLDPath {
+
+	private final String path;
+	private final String[] terms;
+	private final int[] indexes;
+
+	private JsonLDPath(String path, String[] terms) {
+		this.path = path;
+		this.terms = terms;
+		this.indexes = new int[terms.length];
+		for (int i = 0; i < terms.length; i++) this.indexes[i] = parseIndex(terms[i]);
+	}
+
+	/*
+	 * Factory methods
+	 */
+
+	public static JsonLDPath compile(String path) {
+
+		if (path == null) throw new NullPointerException();
+
+		if (path.isEmpty()) return new JsonLDPath(path, new String[0]);
+		if (path.startsWith("/")) {
+			String[] terms = path.substring(1).split("/", -1);
+			for (int i = 0; i < terms.length; i++) terms[i] = terms[i].replace("~1", "/").replace("~0", "~");
+			return new JsonLDPath(path, terms);
+		}
+		return new JsonLDPath(path, path.split("\\.", -1));
+	}
+
+	public static JsonLDPath of(String... terms) {
+
+		return new JsonLDPath(String.join(".", terms), terms.clone());
+	}
+
+	/*
+	 * Querying
+	 */
+
+	public Object get(Map<String, Object> jsonObject) {
+
+		Object current = jsonObject;
+		for (int i = 0; i < this.terms.length && current != null; i++) current = step(current, this.terms[i], this.indexes[i]);
+		return current;
+	}
+
+	public Object get(JsonLDObject jsonLdObject) {
+		return this.get(jsonLdObject.getJsonObject());
+	}
+
+	public String getString(Map<String, Object> jsonObject) {
+
+		Object value = unwrapSingle(this.get(jsonObject));
+		return value instanceof String ? (String) value : null;
+	}
+
+	public String getString(JsonLDObject jsonLdObject) {
+		return this.getString(jsonLdObject.getJsonObject());
+	}
+
+	public String getStringOrObjectId(Map<String, Object> jsonObject) {
+
+		Object value = unwrapSingle(this.get(jsonObject));
+		if (value instanceof String) return (String) value;
+		if (value instanceof Map<?, ?>) {
+			Object id = ((Map<?, ?>) value).get(JsonLDKeywords.JSONLD_TERM_ID);
+			if (! (id instanceof String)) id = ((Map<?, ?>) value).get("@id");
+			if (id instanceof String) return (String) id;
+		}
+		return null;
+	}
+
+	public String getStringOrObjectId(JsonLDObject jsonLdObject) {
+		return this.getStringOrObjectId(jsonLdObject.getJsonObject());
+	}
+
+	public Map<String, Object> getJsonObject(Map<String, Object> jsonObject) {
+
+		Object value = unwrapSingle(this.get(jsonObject));
+		return value instanceof Map<?, ?> ? (Map<String, Object>) value : null;
+	}
+
+	public Map<String, Object> getJsonObject(JsonLDObject jsonLdObject) {
+		return this.getJsonObject(jsonLdObject.getJsonObject());
+	}
+
+	public void forEach(Map<String, Object> jsonObject, Consumer<Object> consumer) {
+		forEach(jsonObject, 0, consumer);
+	}
+
+	public void forEach(JsonLDObject jsonLdObject, Consumer<Object> consumer) {
+		this.forEach(jsonLdObject.getJsonObject(), consumer);
+	}
+
+	public List<Object> getAll(Map<String, Object> jsonObject) {
+
+		List<Object> values = new ArrayList<>();
+		this.forEach(jsonObject, values::add);
+		return values;
+	}
+
+	public List<Object> getAll(JsonLDObject jsonLdObject) {
+		return this.getAll(jsonLdObject.getJsonObject());
+	}
+
+	/*
+	 * Helper methods
+	 */
+
+	private void forEach(Object current, int position, Consumer<Object> consumer) {
+
+		if (current == null) return;
+
+		if (position == this.terms.length) {
+			if (current instanceof List<?>) for (Object element : (List<?>) current) consumer.accept(element);
+			else consumer.accept(current);
+			return;
+		}
+
+		if (current instanceof List<?> && this.indexes[position] < 0) {
+			for (Object element : (List<?>) current) if (element instanceof Map<?, ?>) this.forEach(((Map<?, ?>) element).get(this.terms[position]), position + 1, consumer);
+		} else {
+			this.forEach(step(current, this.terms[position], this.indexes[position]), position + 1, consumer);
+		}
+	}
+
+	private static Object step(Object current, String term, int index) {
+
+		if (current instanceof List<?>) {
+			List<?> list = (List<?>) current;
+			if (index >= 0) return index < list.size() ? list.get(index) : null;
+			if (list.size() != 1) return null;
+			current = list.get(0);
+		}
+		return current instanceof Map<?, ?> ? ((Map<?, ?>) current).get(term) : null;
+	}
+
+	private static Object unwrapSingle(Object value) {
+
+		if (value instanceof List<?> && ((List<?>) value).size() == 1) return ((List<?>) value).get(0);
+		return value;
+	}
+
+	private static int parseIndex(String term) {
+
+		if (term.isEmpty() || term.length() > 9) return -1;
+		for (int i = 0; i < term.length(); i++) if (term.charAt(i) < '0' || term.charAt(i) > '9') return -1;
+		return Integer.parseInt(term);
+	}
+
+	/*
+	 * Object methods
+	 */
+
+	@Override
+	public String toString() {
+		return this.path;
+	}
+}
@@ -0,0 +1,99 @@
+package foundation.identity.jsonld;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class JsonLDStringInterner {
+
+	public static final int DEFAULT_MAX_ENTRIES = 4096;
+	public static final int DEFAULT_MAX_LENGTH = 256;
+	public static final Set<String> DEFAULT_PROPERTIES = Set.of("@context", "@type", "type", "@vocab", "issuer", "proofPurpose", "verificationMethod");
+
+	public static final JsonLDStringInterner DEFAULT = new JsonLDStringInterner(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_LENGTH);
+
+	private final Map<String, String> table;
+	private final int maxEntries;
+	private final int maxLength;
+	private final Set<String> properties;
+
+	public JsonLDStringInterner(int maxEntries, int maxLength, Set<String> properties) {
+		if (maxEntries < 0 || maxLength < 0 || properties == null) throw new IllegalArgumentException();
+		this.table = new ConcurrentHashMap<>();
+		this.maxEntries = maxEntries;
+		this.maxLength = maxLength;
+		this.properties = Set.copyOf(properties);
+	}
+
+	public JsonLDStringInterner(int maxEntries, int maxLength) {
+		this(maxEntries, maxLength, DEFAULT_PROPERTIES);
+	}
+
+	public String intern(String string) {
+
+		if (string == null || string.length() > this.maxLength) return string;
+
+		String interned = this.table.get(string);
+		if (interned != null) return interned;
+
+		if (this.table.size() >= this.maxEntries) return string;
+		interned = this.table.putIfAbsent(string, string);
+		return interned == null ? string : interned;
+	}
+
+	public int size() {
+		return this.table.size();
+	}
+
+	public void clear() {
+		this.table.clear();
+	}
+
+	public int getMaxEntries() {
+		return this.maxEntries;
+	}
+
+	public int getMaxLength() {
+		return this.maxLength;
+	}
+
+	public Set<String> getProperties() {
+		return this.properties;
+	}
+
+	/*
+	 * Jackson integration
+	 */
+
+	public SimpleModule toModule() {
+		return new SimpleModule(JsonLDStringInterner.class.getSimpleName()).addDeserializer(String.class, new InterningStringDeserializer(this));
+	}
+
+	private static class InterningStringDeserializer extends StringDeserializer {
+
+		private final JsonLDStringInterner interner;
+
+		private InterningStringDeserializer(JsonLDStringInterner interner) {
+			this.interner = interner;
+		}
+
+		@Override
+		public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+			String string = super.deserialize(p, ctxt);
+			return this.interner.properties.contains(propertyName(p)) ? this.interner.intern(string) : string;
+		}
+
+		private static String propertyName(JsonParser p) {
+			JsonStreamContext parsingContext = p.getParsingContext();
+			if (parsingContext.inArray()) parsingContext = parsingContext.getParent();
+			return parsingContext == null ? null : parsingContext.getCurrentName();
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package foundation.identity.jsonld;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+public class JsonLDTraversal {
+
+    private JsonLDTraversal() {
+    }
+
+    /*
+     * Visits all JSON objects below (and including) the root in depth-first document order,
+     * using an explicit stack instead of recursion. The visitor returns false to stop.
+     */
+
+    public static boolean forEachJsonObject(Object root, Predicate<Map<String, Object>> visitor) {
+
+        Deque<Iterator<?>> stack = new ArrayDeque<>();
+        if (! pushJsonObject(root, stack, visitor)) return false;
+
+        while (! stack.isEmpty()) {
+            Iterator<?> iterator = stack.peek();
+            if (! iterator.hasNext()) {
+                stack.pop();
+                continue;
+            }
+            if (! pushJsonObject(iterator.next(), stack, visitor)) return false;
+        }
+
+        return true;
+    }
+
+    public static boolean forEachJakartaJsonObject(JsonValue root, Predicate<JsonObject> visitor) {
+
+        Deque<Iterator<JsonValue>> stack = new ArrayDeque<>();
+        if (! pushJsonObject(root, stack, visitor)) return false;
+
+        while (! stack.isEmpty()) {
+            Iterator<JsonValue> iterator = stack.peek();
+            if (! iterator.hasNext()) {
+                stack.pop();
+                continue;
+            }
+            if (! pushJsonObject(iterator.next(), stack, visitor)) return false;
+        }
+
+        return true;
+    }
+
+    /*
+     * Helper methods
+     */
+
+    private static boolean pushJsonObject(Object value, Deque<Iterator<?>> stack, Predicate<Map<String, Object>> visitor) {
+
+        if (value instanceof Map) {
+            if (! visitor.test((Map<String, Object>) value)) return false;
+            stack.push(((Map<String, Object>) value).values().iterator());
+        } else if (value instanceof List) {
+            stack.push(((List<Object>) value).iterator());
+        }
+        return true;
+    }
+
+    private static boolean pushJsonObject(JsonValue value, Deque<Iterator<JsonValue>> stack, Predicate<JsonObject> visitor) {
+
+        if (value instanceof JsonObject) {
+            if (! visitor.test((JsonObject) value)) return false;
+            stack.push(((JsonObject) value).values().iterator());
+        } else if (value instanceof JsonArray) {
+            stack.push(((JsonArray) value).iterator());
+        }
+        return true;
+    }
+}
@@ -5,7 +5,7 @@ import com.google.api.client.util.DateTime;
 import java.net.URI;
 import java.text.SimpleDateFormat;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 public class JsonLDUtils {
 
@@ -44,12 +44,14 @@ public class JsonLDUtils {
 	 */
 
 	public static void jsonLdAddAll(JsonLDObject jsonLdObject, Map<String, Object> jsonObject) {
+		jsonLdObject.invalidateCaches();
 		jsonLdObject.getJsonObject().putAll(jsonObject);
 	}
 
 	public static void jsonLdAdd(JsonLDObject jsonLdObject, String term, Object value) {
 
 		if (jsonLdObject.getJsonObject() == null || term == null || value == null) throw new NullPointerException();
+		jsonLdObject.invalidateCaches();
 
 		Object jsonValueExisting = jsonLdObject.getJsonObject().get(term);
 
@@ -77,6 +79,7 @@ public class JsonLDUtils {
 	public static void jsonLdAddAsJsonArray(JsonLDObject jsonLdObject, String term, List<? extends Object> values) {
 
 		if (jsonLdObject.getJsonObject() == null || term == null || values == null) throw new NullPointerException();
+		jsonLdObject.invalidateCaches();
 		if (values.size() < 1) return;
 
 		Object jsonValueExisting = jsonLdObject.getJsonObject().get(term);
@@ -101,12 +104,84 @@ public class JsonLDUtils {
 		jsonLdAddAsJsonArray(jsonLdObject, term, Collections.singletonList(value));
 	}
 
+	public static void jsonLdAdd(JsonLDObject jsonLdObject, String term, Object value, boolean inPlace) {
+
+		if (! inPlace) { jsonLdAdd(jsonLdObject, term, value); return; }
+		if (jsonLdObject.getJsonObject() == null || term == null || value == null) throw new NullPointerException();
+		jsonLdObject.invalidateCaches();
+
+		Object jsonValueExisting = jsonLdObject.getJsonObject().get(term);
+
+		if (jsonValueExisting == null) {
+			jsonLdAdd(jsonLdObject, term, value);
+		} else {
+			jsonLdMutableJsonArray(jsonLdObject, term, jsonValueExisting).add(jsonLdObjectOrId(value));
+		}
+	}
+
+	public static void jsonLdAddAsJsonArray(JsonLDObject jsonLdObject, String term, List<? extends Object> values, boolean inPlace) {
+
+		if (! inPlace) { jsonLdAddAsJsonArray(jsonLdObject, term, values); return; }
+		if (jsonLdObject.getJsonObject() == null || term == null || values == null) throw new NullPointerException();
+		jsonLdObject.invalidateCaches();
+		if (values.size() < 1) return;
+
+		Object jsonValueExisting = jsonLdObject.getJsonObject().get(term);
+
+		if (jsonValueExisting == null) {
+			jsonLdAddAsJsonArray(jsonLdObject, term, values);
+		} else {
+			List<Object> jsonArray = jsonLdMutableJsonArray(jsonLdObject, term, jsonValueExisting);
+			for (Object value : values) jsonArray.add(jsonLdObjectOrId(value));
+		}
+	}
+
+	public static JsonLDAppender jsonLdAppender(JsonLDObject jsonLdObject, String term, boolean asJsonArray) {
+
+		return new JsonLDAppender(jsonLdObject, term, asJsonArray);
+	}
+
+	public static class JsonLDAppender {
+
+		private final JsonLDObject jsonLdObject;
+		private final String term;
+		private final boolean asJsonArray;
+		private final List<Object> values = new ArrayList<>();
+
+		private JsonLDAppender(JsonLDObject jsonLdObject, String term, boolean asJsonArray) {
+			if (jsonLdObject == null || term == null) throw new NullPointerException();
+			this.jsonLdObject = jsonLdObject;
+			this.term = term;
+			this.asJsonArray = asJsonArray;
+		}
+
+		public JsonLDAppender add(Object value) {
+			if (value == null) throw new NullPointerException();
+			this.values.add(value);
+			return this;
+		}
+
+		public JsonLDAppender addAll(Collection<? extends Object> values) {
+			for (Object value : values) this.add(value);
+			return this;
+		}
+
+		public void apply() {
+			if (this.values.isEmpty()) return;
+			Object jsonValueExisting = this.jsonLdObject.getJsonObject().get(this.term);
+			if (jsonValueExisting == null && this.values.size() == 1 && ! this.asJsonArray) jsonLdAdd(this.jsonLdObject, this.term, this.values.get(0));
+			else jsonLdAddAsJsonArray(this.jsonLdObject, this.term, this.values, true);
+			this.values.clear();
+		}
+	}
+
 	/*
 	 * remove
 	 */
 
 	public static void jsonLdRemove(JsonLDObject jsonLdObject, String term) {
 
+		jsonLdObject.invalidateCaches();
 		jsonLdObject.getJsonObject().remove(term);
 	}
 
@@ -127,7 +202,7 @@ public class JsonLDUtils {
 		if (entry instanceof List<?>) {
 			return (List<Object>) entry;
 		} else {
-			throw new IllegalArgumentException("Cannot get json array '" + term + "' from " + jsonObject);
+			throw jsonLdGetException("json array", term, jsonObject, null);
 		}
 	}
 
@@ -141,7 +216,7 @@ public class JsonLDUtils {
 		} else if (entry instanceof List<?> && ((List<Object>) entry).size() == 1 && ((List<Object>) entry).get(0) instanceof Map<?, ?>) {
 			return (Map<String, Object>) ((List<Object>) entry).get(0);
 		} else {
-			throw new IllegalArgumentException("Cannot get json object '" + term + "' from " + jsonObject);
+			throw jsonLdGetException("json object", term, jsonObject, null);
 		}
 	}
 
@@ -156,10 +231,10 @@ public class JsonLDUtils {
 			if (((List<Object>) entry).size() == 1 && ((List<Object>) entry).get(0) instanceof String) {
 				return (String) ((List<Object>) entry).get(0);
 			} else {
-				throw new IllegalArgumentException("Cannot get string '" + term + "' from " + jsonObject + " (list)");
+				throw jsonLdGetException("string", term, jsonObject, "list");
 			}
 		} else {
-			throw new IllegalArgumentException("Cannot get string '" + term + "' from " + jsonObject);
+			throw jsonLdGetException("string", term, jsonObject, null);
 		}
 	}
 
@@ -174,16 +249,16 @@ public class JsonLDUtils {
 			if (((List<Object>) entry).size() == 1 && ((List<Object>) entry).get(0) instanceof String) {
 				return (String) ((List<Object>) entry).get(0);
 			} else {
-				throw new IllegalArgumentException("Cannot get string '" + term + "' from " + jsonObject + " (list)");
+				throw jsonLdGetException("string", term, jsonObject, "list");
 			}
 		} else if (entry instanceof Map<?, ?>) {
 			String id = null;
 			if (((Map<String, Object>) entry).get("@id") instanceof String) id = (String) ((Map<String, Object>) entry).get("@id");
 			if (((Map<String, Object>) entry).get("id") instanceof String) id = (String) ((Map<String, Object>) entry).get("id");
-			if (id == null) throw new IllegalArgumentException("Cannot get string '" + term + "' from " + jsonObject + " (map)");
+			if (id == null) throw jsonLdGetException("string", term, jsonObject, "map");
 			return id;
 		} else {
-			throw new IllegalArgumentException("Cannot get string '" + term + "' from " + jsonObject);
+			throw jsonLdGetException("string", term, jsonObject, null);
 		}
 	}
 
@@ -195,9 +270,74 @@ public class JsonLDUtils {
 		if (entry instanceof String) {
 			return Collections.singletonList((String) entry);
 		} else if (entry instanceof List<?>) {
-			return ((List<Object>) entry).stream().map(x -> x instanceof String ? (String) x : null).collect(Collectors.toList());
+			List<String> stringList = new ArrayList<>(((List<Object>) entry).size());
+			for (Object x : (List<Object>) entry) stringList.add(x instanceof String ? (String) x : null);
+			return stringList;
 		} else {
-			throw new IllegalArgumentException("Cannot get string list '" + term + "' from " + jsonObject);
+			throw jsonLdGetException("string list", term, jsonObject, null);
+		}
+	}
+
+	public static void jsonLdForEachString(Map<String, Object> jsonObject, String term, Consumer<String> consumer) {
+
+		Object entry = jsonObject.get(term);
+		if (entry == null) return;
+
+		if (entry instanceof String) {
+			consumer.accept((String) entry);
+		} else if (entry instanceof List<?>) {
+			for (Object x : (List<Object>) entry) consumer.accept(x instanceof String ? (String) x : null);
+		} else {
+			throw jsonLdGetException("string list", term, jsonObject, null);
+		}
+	}
+
+	/*
+	 * find
+	 */
+
+	public static Optional<List<Object>> jsonLdFindJsonArray(Map<String, Object> jsonObject, String term) {
+
+		Object entry = jsonObject.get(term);
+		return entry instanceof List<?> ? Optional.of((List<Object>) entry) : Optional.empty();
+	}
+
+	public static Optional<Map<String, Object>> jsonLdFindJsonObject(Map<String, Object> jsonObject, String term) {
+
+		Object entry = jsonObject.get(term);
+
+		if (entry instanceof Map<?, ?>) {
+			return Optional.of((Map<String, Object>) entry);
+		} else if (entry instanceof List<?> && ((List<Object>) entry).size() == 1 && ((List<Object>) entry).get(0) instanceof Map<?, ?>) {
+			return Optional.of((Map<String, Object>) ((List<Object>) entry).get(0));
+		} else {
+			return Optional.empty();
+		}
+	}
+
+	public static Optional<String> jsonLdFindString(Map<String, Object> jsonObject, String term) {
+
+		Object entry = jsonObject.get(term);
+
+		if (entry instanceof String) {
+			return Optional.of((String) entry);
+		} else if (entry instanceof List<?> && ((List<Object>) entry).size() == 1 && ((List<Object>) entry).get(0) instanceof String) {
+			return Optional.of((String) ((List<Object>) entry).get(0));
+		} else {
+			return Optional.empty();
+		}
+	}
+
+	public static Optional<String> jsonLdFindStringOrObjectId(Map<String, Object> jsonObject, String term) {
+
+		Object entry = jsonObject.get(term);
+
+		if (entry instanceof Map<?, ?>) {
+			Object id = ((Map<String, Object>) entry).get("id");
+			if (! (id instanceof String)) id = ((Map<String, Object>) entry).get("@id");
+			return id instanceof String ? Optional.of((String) id) : Optional.empty();
+		} else {
+			return jsonLdFindString(jsonObject, term);
 		}
 	}
 
@@ -222,6 +362,84 @@ public class JsonLDUtils {
 	 * Helper methods
 	 */
 
+	private static final int PREVIEW_MAX_LENGTH = 200;
+
+	private static IllegalArgumentException jsonLdGetException(String what, String term, Map<String, Object> jsonObject, String kind) {
+		return new JsonLDGetException(what, term, jsonObject, kind);
+	}
+
+	private static class JsonLDGetException extends IllegalArgumentException {
+
+		private final String what;
+		private final String term;
+		private final transient Map<String, Object> jsonObject;
+		private final String kind;
+		private String message;
+
+		private JsonLDGetException(String what, String term, Map<String, Object> jsonObject, String kind) {
+			this.what = what;
+			this.term = term;
+			this.jsonObject = jsonObject;
+			this.kind = kind;
+		}
+
+		@Override
+		public synchronized String getMessage() {
+			if (this.message == null) this.message = "Cannot get " + this.what + " '" + this.term + "' from " + jsonLdPreview(this.jsonObject, PREVIEW_MAX_LENGTH) + (this.kind == null ? "" : " (" + this.kind + ")");
+			return this.message;
+		}
+	}
+
+	static String jsonLdPreview(Object value, int maxLength) {
+		StringBuilder buffer = new StringBuilder();
+		jsonLdPreview(value, buffer, maxLength);
+		if (buffer.length() > maxLength) {
+			buffer.setLength(maxLength);
+			buffer.append("...");
+		}
+		return buffer.toString();
+	}
+
+	private static void jsonLdPreview(Object value, StringBuilder buffer, int maxLength) {
+		if (value instanceof Map<?, ?>) {
+			buffer.append('{');
+			boolean first = true;
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				if (buffer.length() > maxLength) return;
+				if (! first) buffer.append(", ");
+				first = false;
+				buffer.append(entry.getKey()).append('=');
+				jsonLdPreview(entry.getValue(), buffer, maxLength);
+			}
+			buffer.append('}');
+		} else if (value instanceof List<?>) {
+			buffer.append('[');
+			boolean first = true;
+			for (Object element : (List<?>) value) {
+				if (buffer.length() > maxLength) return;
+				if (! first) buffer.append(", ");
+				first = false;
+				jsonLdPreview(element, buffer, maxLength);
+			}
+			buffer.append(']');
+		} else {
+			String string = String.valueOf(value);
+			buffer.append(string, 0, Math.min(string.length(), Math.max(0, maxLength - buffer.length() + 1)));
+		}
+	}
+
+	private static List<Object> jsonLdMutableJsonArray(JsonLDObject jsonLdObject, String term, Object jsonValueExisting) {
+		if (jsonValueExisting instanceof ArrayList<?>) return (List<Object>) jsonValueExisting;
+		List<Object> jsonArray = new ArrayList<>();
+		if (jsonValueExisting instanceof List<?>) {
+			for (Object valueObject : (List<?>) jsonValueExisting) jsonArray.add(jsonLdObjectOrId(valueObject));
+		} else {
+			jsonArray.add(jsonLdObjectOrId(jsonValueExisting));
+		}
+		jsonLdObject.getJsonObject().put(term, jsonArray);
+		return jsonArray;
+	}
+
 	private static Object jsonLdObjectOrId(Object value) {
 		if (value instanceof Map<?, ?>) {
 			Map<String, Object> map = (Map<String, Object>) value;
@@ -0,0 +1,150 @@
+package foundation.identity.jsonld;
+
+import com.apicatalog.jsonld.JsonLdError;
+import com.apicatalog.jsonld.JsonLdErrorCode;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.loader.DocumentLoader;
+import com.apicatalog.jsonld.loader.DocumentLoaderOptions;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TenantDocumentLoader {
+
+    private final Map<URI, Document> coreContexts;
+    private final DocumentLoader remoteLoader;
+    private final Duration quotaWindow;
+
+    private final Map<String, Tenant> tenants = new ConcurrentHashMap<String, Tenant> ();
+    private final Map<Set<URI>, Set<URI>> allowedContextSets = new ConcurrentHashMap<Set<URI>, Set<URI>> ();
+
+    public TenantDocumentLoader(Map<URI, ? extends Document> coreContexts, DocumentLoader remoteLoader, Duration quotaWindow) {
+        if (coreContexts == null || quotaWindow == null) throw new NullPointerException();
+        this.coreContexts = Map.copyOf(coreContexts);
+        this.remoteLoader = remoteLoader;
+        this.quotaWindow = quotaWindow;
+    }
+
+    public TenantDocumentLoader(Map<URI, ? extends Document> coreContexts, DocumentLoader remoteLoader) {
+        this(coreContexts, remoteLoader, Duration.ofMinutes(1));
+    }
+
+    /*
+     * Tenants
+     */
+
+    public DocumentLoader registerTenant(String tenantId, Set<URI> allowedContexts, long maxRemoteLoadsPerWindow) {
+
+        if (tenantId == null) throw new NullPointerException();
+
+        Set<URI> sharedAllowedContexts = allowedContexts == null ? null : this.allowedContextSets.computeIfAbsent(Set.copyOf(allowedContexts), x -> x);
+        Tenant tenant = new Tenant(tenantId, sharedAllowedContexts, maxRemoteLoadsPerWindow);
+        Tenant previousTenant = this.tenants.put(tenantId, tenant);
+        if (previousTenant != null) this.releaseAllowedContexts(previousTenant.allowedContexts);
+        return tenant;
+    }
+
+    public void unregisterTenant(String tenantId) {
+        Tenant tenant = this.tenants.remove(tenantId);
+        if (tenant != null) this.releaseAllowedContexts(tenant.allowedContexts);
+    }
+
+    private void releaseAllowedContexts(Set<URI> allowedContexts) {
+
+        if (allowedContexts == null) return;
+        this.allowedContextSets.computeIfPresent(allowedContexts, (key, sharedAllowedContexts) -> {
+            for (Tenant tenant : this.tenants.values()) if (tenant.allowedContexts == sharedAllowedContexts) return sharedAllowedContexts;
+            return null;
+        });
+    }
+
+    public DocumentLoader forTenant(String tenantId) {
+        Tenant tenant = this.tenants.get(tenantId);
+        if (tenant == null) throw new IllegalArgumentException("Unknown tenant: " + tenantId);
+        return tenant;
+    }
+
+    private class Tenant implements DocumentLoader {
+
+        private final String tenantId;
+        private final Set<URI> allowedContexts;
+        private final long maxRemoteLoadsPerWindow;
+        private final AtomicReference<QuotaWindow> quotaWindow = new AtomicReference<>(new QuotaWindow(Long.MIN_VALUE, 0));
+
+        private Tenant(String tenantId, Set<URI> allowedContexts, long maxRemoteLoadsPerWindow) {
+            this.tenantId = tenantId;
+            this.allowedContexts = allowedContexts;
+            this.maxRemoteLoadsPerWindow = maxRemoteLoadsPerWindow;
+        }
+
+        @Override
+        public Document loadDocument(URI url, DocumentLoaderOptions options) throws JsonLdError {
+
+            if (this.allowedContexts != null && ! this.allowedContexts.contains(url)) throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Context " + url + " is not allowed for tenant " + this.tenantId);
+
+            Document document = TenantDocumentLoader.this.coreContexts.get(url);
+            if (document != null) return document;
+
+            DocumentLoader remoteLoader = TenantDocumentLoader.this.remoteLoader;
+            if (remoteLoader == null) throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Context " + url + " is not available for tenant " + this.tenantId);
+
+            // a ConfigurableDocumentLoader charges the quota only when it actually fetches; any other loader is charged per load
+
+            if (remoteLoader instanceof ConfigurableDocumentLoader) return ((ConfigurableDocumentLoader) remoteLoader).loadDocument(url, options, this::acquireRemoteLoad);
+
+            this.acquireRemoteLoad(url);
+            return remoteLoader.loadDocument(url, options);
+        }
+
+        private void acquireRemoteLoad(URI url) throws JsonLdError {
+
+            if (! this.acquireRemoteLoad()) throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Remote context quota exceeded for tenant " + this.tenantId + ", not loading " + url);
+        }
+
+        private boolean acquireRemoteLoad() {
+
+            long currentWindow = System.nanoTime() / Math.max(1, TenantDocumentLoader.this.quotaWindow.toNanos());
+            while (true) {
+                QuotaWindow quotaWindow = this.quotaWindow.get();
+                long remoteLoads = quotaWindow.window == currentWindow ? quotaWindow.remoteLoads : 0;
+                if (remoteLoads >= this.maxRemoteLoadsPerWindow) return false;
+                if (this.quotaWindow.compareAndSet(quotaWindow, new QuotaWindow(currentWindow, remoteLoads + 1))) return true;
+            }
+        }
+    }
+
+    private static class QuotaWindow {
+
+        private final long window;
+        private final long remoteLoads;
+
+        private QuotaWindow(long window, long remoteLoads) {
+            this.window = window;
+            this.remoteLoads = remoteLoads;
+        }
+    }
+
+    /*
+     * Getters
+     */
+
+    public Map<URI, Document> getCoreContexts() {
+        return this.coreContexts;
+    }
+
+    public DocumentLoader getRemoteLoader() {
+        return this.remoteLoader;
+    }
+
+    public Duration getQuotaWindow() {
+        return this.quotaWindow;
+    }
+
+    Map<Set<URI>, Set<URI>> getAllowedContextSets() {
+        return this.allowedContextSets;
+    }
+}
@@ -0,0 +1,18 @@
+package foundation.identity.jsonld.normalization;
+
+import com.apicatalog.rdf.RdfDataset;
+import com.apicatalog.rdf.io.nquad.NQuadsWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public interface CanonicalizationEngine {
+
+    String getName();
+
+    RdfDataset canonicalize(RdfDataset dataset, NormalizationLimits limits) throws NormalizationLimitException;
+
+    default void write(RdfDataset dataset, Writer writer) throws IOException {
+        new NQuadsWriter(writer).write(dataset);
+    }
+}
@@ -0,0 +1,32 @@
+package foundation.identity.jsonld.normalization;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class CanonicalizationEngines {
+
+    public static final String URDNA2015 = "urdna2015";
+    public static final String RDFC10 = "rdfc-1.0";
+
+    private static final Map<String, CanonicalizationEngine> engines = new ConcurrentHashMap<>();
+
+    static {
+
+        register(Urdna2015Normalizer.URDNA2015_ENGINE);
+        register(Urdna2015Normalizer.RDFC10_ENGINE);
+        for (CanonicalizationEngine engine : ServiceLoader.load(CanonicalizationEngine.class)) register(engine);
+    }
+
+    private CanonicalizationEngines() {
+    }
+
+    public static void register(CanonicalizationEngine engine) {
+        engines.put(engine.getName().toLowerCase(Locale.ROOT), engine);
+    }
+
+    public static CanonicalizationEngine get(String name) {
+        return engines.get((name == null || name.isBlank() ? URDNA2015 : name).toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,52 @@
+package foundation.identity.jsonld.normalization;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class IdentifierIssuer {
+
+    private final String prefix;
+    private final LinkedHashMap<String, String> issued;
+    private int counter;
+
+    IdentifierIssuer(String prefix) {
+        this.prefix = prefix;
+        this.issued = new LinkedHashMap<>();
+        this.counter = 0;
+    }
+
+    private IdentifierIssuer(IdentifierIssuer other) {
+        this.prefix = other.prefix;
+        this.issued = new LinkedHashMap<>(other.issued);
+        this.counter = other.counter;
+    }
+
+    String getId(String existing) {
+        String id = this.issued.get(existing);
+        if (id == null) {
+            id = this.prefix + this.counter++;
+            this.issued.put(existing, id);
+        }
+        return id;
+    }
+
+    String get(String existing) {
+        return this.issued.get(existing);
+    }
+
+    boolean hasId(String existing) {
+        return this.issued.containsKey(existing);
+    }
+
+    IdentifierIssuer copy() {
+        return new IdentifierIssuer(this);
+    }
+
+    Iterable<String> getExisting() {
+        return this.issued.keySet();
+    }
+
+    Map<String, String> getIssued() {
+        return this.issued;
+    }
+}
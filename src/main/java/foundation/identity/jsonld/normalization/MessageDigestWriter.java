@@ -0,0 +1,99 @@
+package foundation.identity.jsonld.normalization;
+
+import java.io.Writer;
+import java.security.MessageDigest;
+
+public class MessageDigestWriter extends Writer {
+
+    private final MessageDigest messageDigest;
+    private final byte[] buffer = new byte[512];
+    private int position = 0;
+    private char highSurrogate = 0;
+
+    public MessageDigestWriter(MessageDigest messageDigest) {
+        this.messageDigest = messageDigest;
+    }
+
+    @Override
+    public void write(int c) {
+        this.writeChar((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+        for (int i = off; i < off + len; i++) this.writeChar(cbuf[i]);
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+        for (int i = off; i < off + len; i++) this.writeChar(str.charAt(i));
+    }
+
+    @Override
+    public void flush() {
+        if (this.position > 0) this.messageDigest.update(this.buffer, 0, this.position);
+        this.position = 0;
+    }
+
+    @Override
+    public void close() {
+        this.endOfInput();
+        this.flush();
+    }
+
+    public byte[] digest() {
+        this.endOfInput();
+        this.flush();
+        return this.messageDigest.digest();
+    }
+
+    /*
+     * A trailing high surrogate is unpaired; it is replaced with '?' like String.getBytes(UTF_8) does
+     */
+
+    private void endOfInput() {
+
+        if (this.highSurrogate == 0) return;
+        this.highSurrogate = 0;
+        if (this.position > this.buffer.length - 4) this.flush();
+        this.writeCodePoint('?');
+    }
+
+    private void writeChar(char c) {
+
+        if (this.position > this.buffer.length - 4) this.flush();
+
+        if (this.highSurrogate != 0) {
+            char high = this.highSurrogate;
+            this.highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                this.writeCodePoint(Character.toCodePoint(high, c));
+                return;
+            }
+            this.writeCodePoint('?');
+        }
+
+        if (Character.isHighSurrogate(c)) this.highSurrogate = c;
+        else if (Character.isLowSurrogate(c)) this.writeCodePoint('?');
+        else this.writeCodePoint(c);
+    }
+
+    private void writeCodePoint(int codePoint) {
+
+        if (codePoint < 0x80) {
+            this.buffer[this.position++] = (byte) codePoint;
+        } else if (codePoint < 0x800) {
+            this.buffer[this.position++] = (byte) (0xc0 | (codePoint >> 6));
+            this.buffer[this.position++] = (byte) (0x80 | (codePoint & 0x3f));
+        } else if (codePoint < 0x10000) {
+            this.buffer[this.position++] = (byte) (0xe0 | (codePoint >> 12));
+            this.buffer[this.position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+            this.buffer[this.position++] = (byte) (0x80 | (codePoint & 0x3f));
+        } else {
+            this.buffer[this.position++] = (byte) (0xf0 | (codePoint >> 18));
+            this.buffer[this.position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+            this.buffer[this.position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+            this.buffer[this.position++] = (byte) (0x80 | (codePoint & 0x3f));
+        }
+    }
+}
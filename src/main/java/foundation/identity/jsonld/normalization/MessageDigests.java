@@ -0,0 +1,27 @@
+package foundation.identity.jsonld.normalization;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+public class MessageDigests {
+
+    private static final ThreadLocal<Map<String, MessageDigest>> messageDigests = ThreadLocal.withInitial(HashMap::new);
+
+    private MessageDigests() {
+    }
+
+    public static MessageDigest get(String algorithm) throws NoSuchAlgorithmException {
+
+        Map<String, MessageDigest> threadMessageDigests = messageDigests.get();
+        MessageDigest messageDigest = threadMessageDigests.get(algorithm);
+        if (messageDigest == null) {
+            messageDigest = MessageDigest.getInstance(algorithm);
+            threadMessageDigests.put(algorithm, messageDigest);
+        } else {
+            messageDigest.reset();
+        }
+        return messageDigest;
+    }
+}
@@ -0,0 +1,28 @@
+package foundation.identity.jsonld.normalization;
+
+public class NQuadsBuffers {
+
+    private static final int ESTIMATED_QUAD_LENGTH = 128;
+    private static final int MIN_CAPACITY = 1024;
+    private static final int MAX_RETAINED_CAPACITY = 1 << 20;
+
+    private static final ThreadLocal<StringBuilderWriter> writers = ThreadLocal.withInitial(() -> new StringBuilderWriter(MIN_CAPACITY));
+
+    private NQuadsBuffers() {
+    }
+
+    public static StringBuilderWriter get(int quads) {
+
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(MIN_CAPACITY, (long) quads * ESTIMATED_QUAD_LENGTH));
+
+        StringBuilderWriter writer = writers.get();
+        if (writer.getBuilder().capacity() > MAX_RETAINED_CAPACITY && capacity <= MAX_RETAINED_CAPACITY) {
+            writer = new StringBuilderWriter(capacity);
+            writers.set(writer);
+        }
+
+        writer.getBuilder().setLength(0);
+        writer.getBuilder().ensureCapacity(capacity);
+        return writer;
+    }
+}
@@ -0,0 +1,31 @@
+package foundation.identity.jsonld.normalization;
+
+import com.apicatalog.jsonld.JsonLdError;
+import com.apicatalog.jsonld.JsonLdErrorCode;
+import foundation.identity.jsonld.JsonLDException;
+
+/*
+ * Titanium's JsonLdErrorCode is a closed enum without a code for resource limits, so the limit that was
+ * exceeded is carried by this type and getLimit(), and is repeated in the message of the wrapped JsonLdError.
+ */
+
+public class NormalizationLimitException extends JsonLDException {
+
+    public enum Limit {
+        MAX_QUADS,
+        MAX_BLANK_NODES,
+        MAX_NDEGREE_ITERATIONS,
+        TIMEOUT
+    }
+
+    private final Limit limit;
+
+    public NormalizationLimitException(Limit limit, String message) {
+        super(new JsonLdError(JsonLdErrorCode.UNSPECIFIED, limit + ": " + message));
+        this.limit = limit;
+    }
+
+    public Limit getLimit() {
+        return this.limit;
+    }
+}
@@ -0,0 +1,104 @@
+package foundation.identity.jsonld.normalization;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
+public class NormalizationLimits {
+
+    public static final NormalizationLimits UNLIMITED = builder().build();
+
+    private final int maxQuads;
+    private final int maxBlankNodes;
+    private final long maxNDegreeIterations;
+    private final Duration timeout;
+    private final ForkJoinPool forkJoinPool;
+
+    private NormalizationLimits(int maxQuads, int maxBlankNodes, long maxNDegreeIterations, Duration timeout, ForkJoinPool forkJoinPool) {
+        this.maxQuads = maxQuads;
+        this.maxBlankNodes = maxBlankNodes;
+        this.maxNDegreeIterations = maxNDegreeIterations;
+        this.timeout = timeout;
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /*
+     * Factory methods
+     */
+
+    public static class Builder {
+
+        private int maxQuads = Integer.MAX_VALUE;
+        private int maxBlankNodes = Integer.MAX_VALUE;
+        private long maxNDegreeIterations = Long.MAX_VALUE;
+        private Duration timeout = null;
+        private ForkJoinPool forkJoinPool = null;
+
+        private Builder() {
+        }
+
+        public NormalizationLimits build() {
+            return new NormalizationLimits(this.maxQuads, this.maxBlankNodes, this.maxNDegreeIterations, this.timeout, this.forkJoinPool);
+        }
+
+        public Builder maxQuads(int maxQuads) {
+            this.maxQuads = maxQuads;
+            return this;
+        }
+
+        public Builder maxBlankNodes(int maxBlankNodes) {
+            this.maxBlankNodes = maxBlankNodes;
+            return this;
+        }
+
+        public Builder maxNDegreeIterations(long maxNDegreeIterations) {
+            this.maxNDegreeIterations = maxNDegreeIterations;
+            return this;
+        }
+
+        public Builder timeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        public Builder parallel(ForkJoinPool forkJoinPool) {
+            this.forkJoinPool = forkJoinPool;
+            return this;
+        }
+
+        public Builder parallel() {
+            return this.parallel(ForkJoinPool.commonPool());
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /*
+     * Getters
+     */
+
+    public int getMaxQuads() {
+        return this.maxQuads;
+    }
+
+    public int getMaxBlankNodes() {
+        return this.maxBlankNodes;
+    }
+
+    public long getMaxNDegreeIterations() {
+        return this.maxNDegreeIterations;
+    }
+
+    public Duration getTimeout() {
+        return this.timeout;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return this.forkJoinPool;
+    }
+
+    public boolean isParallel() {
+        return this.forkJoinPool != null;
+    }
+}
@@ -0,0 +1,55 @@
+package foundation.identity.jsonld.normalization;
+
+import java.io.Writer;
+
+public class StringBuilderWriter extends Writer {
+
+    private final StringBuilder builder;
+
+    public StringBuilderWriter(int capacity) {
+        this.builder = new StringBuilder(capacity);
+    }
+
+    @Override
+    public void write(int c) {
+        this.builder.append((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+        this.builder.append(cbuf, off, len);
+    }
+
+    @Override
+    public void write(String str) {
+        this.builder.append(str);
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+        this.builder.append(str, off, off + len);
+    }
+
+    @Override
+    public Writer append(CharSequence csq) {
+        this.builder.append(csq);
+        return this;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    public StringBuilder getBuilder() {
+        return this.builder;
+    }
+
+    @Override
+    public String toString() {
+        return this.builder.toString();
+    }
+}
@@ -0,0 +1,581 @@
+package foundation.identity.jsonld.normalization;
+
+import com.apicatalog.rdf.Rdf;
+import com.apicatalog.rdf.RdfDataset;
+import com.apicatalog.rdf.RdfLiteral;
+import com.apicatalog.rdf.RdfNQuad;
+import com.apicatalog.rdf.RdfResource;
+import com.apicatalog.rdf.RdfValue;
+import org.apache.commons.codec.binary.Hex;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class Urdna2015Normalizer {
+
+    private static final String XSD_STRING = "http://www.w3.org/2001/XMLSchema#string";
+    private static final RdfResource BLANK_A = Rdf.createBlankNode("_:a");
+    private static final RdfResource BLANK_Z = Rdf.createBlankNode("_:z");
+    private static final int PARALLEL_THRESHOLD = 8;
+
+    public static final CanonicalizationEngine URDNA2015_ENGINE = new Engine(CanonicalizationEngines.URDNA2015, false);
+    public static final CanonicalizationEngine RDFC10_ENGINE = new Engine(CanonicalizationEngines.RDFC10, true);
+
+    private final List<RdfNQuad> quads;
+    private final NormalizationLimits limits;
+    private final boolean rdfc10;
+    private final Comparator<String> order;
+    private final long deadline;
+    private final ForkJoinPool forkJoinPool;
+
+    private final Map<String, List<RdfNQuad>> blankNodeToQuads = new HashMap<>();
+    private final Map<String, String> firstDegreeHashes = new HashMap<>();
+    private final IdentifierIssuer canonicalIssuer = new IdentifierIssuer("_:c14n");
+    private final AtomicLong nDegreeIterations = new AtomicLong();
+
+    private Urdna2015Normalizer(RdfDataset dataset, NormalizationLimits limits, boolean rdfc10) {
+        this.quads = dataset.toList();
+        this.limits = limits;
+        this.rdfc10 = rdfc10;
+        this.order = rdfc10 ? Urdna2015Normalizer::compareCodePoints : Comparator.naturalOrder();
+        this.deadline = limits.getTimeout() == null ? Long.MAX_VALUE : System.nanoTime() + limits.getTimeout().toNanos();
+        this.forkJoinPool = limits.getForkJoinPool();
+    }
+
+    public static RdfDataset normalize(RdfDataset dataset, NormalizationLimits limits) throws NormalizationLimitException {
+        return new Urdna2015Normalizer(dataset, limits, false).normalize();
+    }
+
+    public static RdfDataset normalize(RdfDataset dataset) throws NormalizationLimitException {
+        return normalize(dataset, NormalizationLimits.UNLIMITED);
+    }
+
+    public static boolean hasBlankNodes(RdfDataset dataset) {
+
+        for (RdfNQuad quad : dataset.toList()) {
+            if (quad.getSubject().isBlankNode() || quad.getObject().isBlankNode()) return true;
+            if (quad.getGraphName().isPresent() && quad.getGraphName().get().isBlankNode()) return true;
+        }
+        return false;
+    }
+
+    /*
+     * Algorithm steps
+     */
+
+    private RdfDataset normalize() throws NormalizationLimitException {
+
+        if (this.quads.size() > this.limits.getMaxQuads()) throw new NormalizationLimitException(NormalizationLimitException.Limit.MAX_QUADS, "Too many quads for normalization: " + this.quads.size() + " > " + this.limits.getMaxQuads());
+
+        if (! this.findBlankNodes()) return this.sortQuads();
+        if (this.blankNodeToQuads.size() > this.limits.getMaxBlankNodes()) throw new NormalizationLimitException(NormalizationLimitException.Limit.MAX_BLANK_NODES, "Too many blank nodes for normalization: " + this.blankNodeToQuads.size() + " > " + this.limits.getMaxBlankNodes());
+
+        SortedMap<String, List<String>> hashToBlankNodes = this.issueSimpleIds();
+        this.issueNDegreeIds(hashToBlankNodes);
+
+        return this.makeCanonicalQuads();
+    }
+
+    private boolean findBlankNodes() {
+
+        for (RdfNQuad quad : this.quads) {
+            addBlankNode(quad.getSubject(), quad);
+            addBlankNode(quad.getObject(), quad);
+            addBlankNode(quad.getGraphName().orElse(null), quad);
+        }
+        return ! this.blankNodeToQuads.isEmpty();
+    }
+
+    private void addBlankNode(RdfValue value, RdfNQuad quad) {
+
+        if (value == null || ! value.isBlankNode()) return;
+        List<RdfNQuad> blankNodeQuads = this.blankNodeToQuads.computeIfAbsent(value.getValue(), k -> new ArrayList<>());
+        if (blankNodeQuads.isEmpty() || blankNodeQuads.get(blankNodeQuads.size() - 1) != quad) blankNodeQuads.add(quad);
+    }
+
+    private SortedMap<String, List<String>> issueSimpleIds() throws NormalizationLimitException {
+
+        SortedMap<String, List<String>> hashToBlankNodes = new TreeMap<>();
+        if (this.isParallel(this.blankNodeToQuads.size())) {
+            List<Callable<String>> tasks = new ArrayList<>();
+            for (String blankNode : this.blankNodeToQuads.keySet()) tasks.add(() -> this.computeFirstDegreeHash(blankNode));
+            List<String> hashes = this.invokeAll(tasks);
+            int i = 0;
+            for (String blankNode : this.blankNodeToQuads.keySet()) {
+                String hash = hashes.get(i++);
+                this.firstDegreeHashes.put(blankNode, hash);
+                hashToBlankNodes.computeIfAbsent(hash, k -> new ArrayList<>()).add(blankNode);
+            }
+            this.checkDeadline();
+        } else {
+            for (String blankNode : this.blankNodeToQuads.keySet()) {
+                this.checkDeadline();
+                hashToBlankNodes.computeIfAbsent(this.hashFirstDegree(blankNode), k -> new ArrayList<>()).add(blankNode);
+            }
+        }
+
+        Iterator<List<String>> iterator = hashToBlankNodes.values().iterator();
+        while (iterator.hasNext()) {
+            List<String> blankNodes = iterator.next();
+            if (blankNodes.size() != 1) continue;
+            this.canonicalIssuer.getId(blankNodes.get(0));
+            iterator.remove();
+        }
+
+        return hashToBlankNodes;
+    }
+
+    private void issueNDegreeIds(SortedMap<String, List<String>> hashToBlankNodes) throws NormalizationLimitException {
+
+        for (List<String> blankNodes : hashToBlankNodes.values()) {
+
+            List<NDegreeResult> results = new ArrayList<>();
+            List<Callable<NDegreeResult>> tasks = new ArrayList<>();
+            for (String blankNode : blankNodes) {
+                if (this.canonicalIssuer.hasId(blankNode)) continue;
+                tasks.add(() -> {
+                    IdentifierIssuer issuer = new IdentifierIssuer("_:b");
+                    issuer.getId(blankNode);
+                    return this.hashNDegreeQuads(blankNode, issuer);
+                });
+            }
+            if (this.isParallel(tasks.size())) {
+                results.addAll(this.invokeAll(tasks));
+            } else {
+                for (Callable<NDegreeResult> task : tasks) results.add(this.call(task));
+            }
+
+            results.sort(Comparator.comparing(result -> result.hash));
+            for (NDegreeResult result : results) {
+                for (String existing : result.issuer.getExisting()) this.canonicalIssuer.getId(existing);
+            }
+        }
+    }
+
+    private RdfDataset makeCanonicalQuads() {
+
+        Map<String, RdfNQuad> canonicalQuads = new HashMap<>();
+        for (RdfNQuad quad : this.quads) {
+            RdfNQuad canonicalQuad = this.relabel(quad);
+            canonicalQuads.putIfAbsent(serialize(canonicalQuad, this.rdfc10), canonicalQuad);
+        }
+        String[] serializedQuads = canonicalQuads.keySet().toArray(new String[0]);
+        Arrays.sort(serializedQuads, this.order);
+
+        RdfDataset rdfDataset = Rdf.createDataset();
+        for (String serializedQuad : serializedQuads) rdfDataset.add(canonicalQuads.get(serializedQuad));
+        return rdfDataset;
+    }
+
+    private RdfDataset sortQuads() {
+
+        String[] serializedQuads = new String[this.quads.size()];
+        RdfNQuad[] quads = new RdfNQuad[serializedQuads.length];
+        Integer[] order = new Integer[serializedQuads.length];
+        for (int i = 0; i < serializedQuads.length; i++) {
+            RdfNQuad quad = this.quads.get(i);
+            serializedQuads[i] = serialize(quad, this.rdfc10);
+            quads[i] = quad;
+            order[i] = i;
+        }
+        Arrays.sort(order, (i, j) -> this.order.compare(serializedQuads[i], serializedQuads[j]));
+
+        RdfDataset rdfDataset = Rdf.createDataset();
+        String previous = null;
+        for (Integer i : order) {
+            if (serializedQuads[i].equals(previous)) continue;
+            rdfDataset.add(quads[i]);
+            previous = serializedQuads[i];
+        }
+        return rdfDataset;
+    }
+
+    /*
+     * Hashing
+     */
+
+    private String hashFirstDegree(String blankNode) {
+
+        String hash = this.firstDegreeHashes.get(blankNode);
+        if (hash != null) return hash;
+
+        hash = this.computeFirstDegreeHash(blankNode);
+        this.firstDegreeHashes.put(blankNode, hash);
+        return hash;
+    }
+
+    private String computeFirstDegreeHash(String blankNode) {
+
+        List<RdfNQuad> blankNodeQuads = this.blankNodeToQuads.get(blankNode);
+        String[] serializedQuads = new String[blankNodeQuads.size()];
+        for (int i = 0; i < serializedQuads.length; i++) {
+            RdfNQuad quad = blankNodeQuads.get(i);
+            serializedQuads[i] = serialize(
+                    replaceBlankNode(quad.getSubject(), blankNode),
+                    quad.getPredicate(),
+                    replaceBlankNode(quad.getObject(), blankNode),
+                    replaceBlankNode(quad.getGraphName().orElse(null), blankNode),
+                    this.rdfc10);
+        }
+        Arrays.sort(serializedQuads, this.order);
+
+        MessageDigest messageDigest = sha256();
+        for (String serializedQuad : serializedQuads) messageDigest.update(serializedQuad.getBytes(StandardCharsets.UTF_8));
+        return Hex.encodeHexString(messageDigest.digest());
+    }
+
+    private String hashRelatedBlankNode(String related, RdfNQuad quad, IdentifierIssuer issuer, char position) {
+
+        String id = this.canonicalIssuer.get(related);
+        if (id == null) id = issuer.get(related);
+        if (id == null) id = this.hashFirstDegree(related);
+
+        StringBuilder input = new StringBuilder();
+        input.append(position);
+        if (position != 'g') input.append('<').append(quad.getPredicate().getValue()).append('>');
+        input.append(id);
+
+        return Hex.encodeHexString(sha256().digest(input.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private NDegreeResult hashNDegreeQuads(String blankNode, IdentifierIssuer issuer) throws NormalizationLimitException {
+
+        this.countNDegreeIteration();
+
+        SortedMap<String, Set<String>> hashToRelated = new TreeMap<>();
+        for (RdfNQuad quad : this.blankNodeToQuads.get(blankNode)) {
+            this.addRelated(hashToRelated, blankNode, quad.getSubject(), quad, issuer, 's');
+            this.addRelated(hashToRelated, blankNode, quad.getObject(), quad, issuer, 'o');
+            this.addRelated(hashToRelated, blankNode, quad.getGraphName().orElse(null), quad, issuer, 'g');
+        }
+
+        StringBuilder dataToHash = new StringBuilder();
+        for (Map.Entry<String, Set<String>> entry : hashToRelated.entrySet()) {
+
+            dataToHash.append(entry.getKey());
+
+            String chosenPath = null;
+            IdentifierIssuer chosenIssuer = null;
+
+            Permutations permutations = new Permutations(entry.getValue().toArray(new String[0]));
+            while (permutations.hasNext()) {
+
+                this.countNDegreeIteration();
+                String[] permutation = permutations.next();
+
+                IdentifierIssuer issuerCopy = issuer.copy();
+                StringBuilder path = new StringBuilder();
+                List<String> recursionList = new ArrayList<>();
+                boolean skip = false;
+
+                for (String related : permutation) {
+                    String canonicalId = this.canonicalIssuer.get(related);
+                    if (canonicalId != null) {
+                        path.append(canonicalId);
+                    } else {
+                        if (! issuerCopy.hasId(related)) recursionList.add(related);
+                        path.append(issuerCopy.getId(related));
+                    }
+                    if (chosenPath != null && path.toString().compareTo(chosenPath) > 0) { skip = true; break; }
+                }
+                if (skip) continue;
+
+                for (String related : recursionList) {
+                    NDegreeResult result = this.hashNDegreeQuads(related, issuerCopy);
+                    path.append(issuerCopy.getId(related)).append('<').append(result.hash).append('>');
+                    issuerCopy = result.issuer;
+                    if (chosenPath != null && path.toString().compareTo(chosenPath) > 0) { skip = true; break; }
+                }
+                if (skip) continue;
+
+                if (chosenPath == null || path.toString().compareTo(chosenPath) < 0) {
+                    chosenPath = path.toString();
+                    chosenIssuer = issuerCopy;
+                }
+            }
+
+            dataToHash.append(chosenPath);
+            issuer = chosenIssuer;
+        }
+
+        String hash = Hex.encodeHexString(sha256().digest(dataToHash.toString().getBytes(StandardCharsets.UTF_8)));
+        return new NDegreeResult(hash, issuer);
+    }
+
+    private static MessageDigest sha256() {
+
+        try {
+            return MessageDigests.get("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new InternalError("SHA-256 is not available", ex);
+        }
+    }
+
+    private void addRelated(SortedMap<String, Set<String>> hashToRelated, String blankNode, RdfValue value, RdfNQuad quad, IdentifierIssuer issuer, char position) {
+
+        if (value == null || ! value.isBlankNode() || blankNode.equals(value.getValue())) return;
+        String hash = this.hashRelatedBlankNode(value.getValue(), quad, issuer, position);
+        hashToRelated.computeIfAbsent(hash, k -> new HashSet<>()).add(value.getValue());
+    }
+
+    /*
+     * Limits
+     */
+
+    private void countNDegreeIteration() throws NormalizationLimitException {
+
+        if (this.nDegreeIterations.incrementAndGet() > this.limits.getMaxNDegreeIterations()) throw new NormalizationLimitException(NormalizationLimitException.Limit.MAX_NDEGREE_ITERATIONS, "Too many hash N-degree iterations for normalization: > " + this.limits.getMaxNDegreeIterations());
+        this.checkDeadline();
+    }
+
+    private void checkDeadline() throws NormalizationLimitException {
+
+        if (this.deadline != Long.MAX_VALUE && System.nanoTime() - this.deadline > 0) throw new NormalizationLimitException(NormalizationLimitException.Limit.TIMEOUT, "Normalization timed out after " + this.limits.getTimeout());
+    }
+
+    /*
+     * Parallelism
+     */
+
+    private boolean isParallel(int tasks) {
+
+        return this.forkJoinPool != null && tasks >= PARALLEL_THRESHOLD;
+    }
+
+    private <T> List<T> invokeAll(List<Callable<T>> tasks) throws NormalizationLimitException {
+
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> future : this.forkJoinPool.invokeAll(tasks)) results.add(future.get());
+        } catch (ExecutionException ex) {
+            for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof NormalizationLimitException) throw (NormalizationLimitException) cause;
+            }
+            if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+            if (ex.getCause() instanceof Error) throw (Error) ex.getCause();
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during normalization", ex);
+        }
+        return results;
+    }
+
+    private <T> T call(Callable<T> task) throws NormalizationLimitException {
+
+        try {
+            return task.call();
+        } catch (NormalizationLimitException | RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /*
+     * Serialization
+     */
+
+    private RdfNQuad relabel(RdfNQuad quad) {
+
+        RdfResource subject = (RdfResource) this.relabel(quad.getSubject());
+        RdfValue object = this.relabel(quad.getObject());
+        RdfResource graphName = (RdfResource) this.relabel(quad.getGraphName().orElse(null));
+        if (subject == quad.getSubject() && object == quad.getObject() && graphName == quad.getGraphName().orElse(null)) return quad;
+        return Rdf.createNQuad(subject, quad.getPredicate(), object, graphName);
+    }
+
+    private RdfValue relabel(RdfValue value) {
+
+        if (value == null || ! value.isBlankNode()) return value;
+        String canonicalId = this.canonicalIssuer.get(value.getValue());
+        return canonicalId == null ? value : Rdf.createBlankNode(canonicalId);
+    }
+
+    private static RdfValue replaceBlankNode(RdfValue value, String blankNode) {
+
+        if (value == null || ! value.isBlankNode()) return value;
+        return value.getValue().equals(blankNode) ? BLANK_A : BLANK_Z;
+    }
+
+    private static String serialize(RdfNQuad quad, boolean rdfc10) {
+
+        return serialize(quad.getSubject(), quad.getPredicate(), quad.getObject(), quad.getGraphName().orElse(null), rdfc10);
+    }
+
+    private static String serialize(RdfValue subject, RdfValue predicate, RdfValue object, RdfValue graphName, boolean rdfc10) {
+
+        StringBuilder builder = new StringBuilder();
+        writeValue(builder, subject, rdfc10);
+        builder.append(' ');
+        writeValue(builder, predicate, rdfc10);
+        builder.append(' ');
+        writeValue(builder, object, rdfc10);
+        builder.append(' ');
+        if (graphName != null) {
+            writeValue(builder, graphName, rdfc10);
+            builder.append(' ');
+        }
+        builder.append(".\n");
+        return builder.toString();
+    }
+
+    private static void writeValue(StringBuilder builder, RdfValue value, boolean rdfc10) {
+
+        if (value.isIRI()) {
+            builder.append('<').append(value.getValue()).append('>');
+        } else if (value.isLiteral()) {
+            RdfLiteral literal = value.asLiteral();
+            builder.append('"');
+            escape(builder, literal.getValue(), rdfc10);
+            builder.append('"');
+            if (literal.getLanguage().isPresent()) {
+                builder.append('@').append(literal.getLanguage().get());
+            } else if (literal.getDatatype() != null && ! XSD_STRING.equals(literal.getDatatype())) {
+                builder.append("^^<").append(literal.getDatatype()).append('>');
+            }
+        } else {
+            builder.append(value.getValue());
+        }
+    }
+
+    private static void escape(StringBuilder builder, String value, boolean rdfc10) {
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\n': builder.append("\\n"); break;
+                case '\r': builder.append("\\r"); break;
+                case '"': builder.append("\\\""); break;
+                case '\\': builder.append("\\\\"); break;
+                default:
+                    if (rdfc10 && c == '\b') builder.append("\\b");
+                    else if (rdfc10 && c == '\t') builder.append("\\t");
+                    else if (rdfc10 && c == '\f') builder.append("\\f");
+                    else if (rdfc10 && (c < 0x20 || c == 0x7f)) builder.append(String.format("\\u%04X", (int) c));
+                    else builder.append(c);
+            }
+        }
+    }
+
+    /*
+     * RDFC-1.0 orders by Unicode code point; String.compareTo orders by UTF-16 code unit, which differs only when
+     * a surrogate is compared with a character in U+E000..U+FFFF.
+     */
+
+    private static int compareCodePoints(String a, String b) {
+
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            char c1 = a.charAt(i);
+            char c2 = b.charAt(i);
+            if (c1 == c2) continue;
+            if (c1 >= Character.MIN_SURROGATE && c2 >= Character.MIN_SURROGATE) {
+                c1 += c1 >= 0xe000 ? -0x800 : 0x2000;
+                c2 += c2 >= 0xe000 ? -0x800 : 0x2000;
+            }
+            return c1 - c2;
+        }
+        return a.length() - b.length();
+    }
+
+    /*
+     * Helper classes
+     */
+
+    private static class Engine implements CanonicalizationEngine {
+
+        private final String name;
+        private final boolean rdfc10;
+
+        private Engine(String name, boolean rdfc10) {
+            this.name = name;
+            this.rdfc10 = rdfc10;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public RdfDataset canonicalize(RdfDataset dataset, NormalizationLimits limits) throws NormalizationLimitException {
+            return new Urdna2015Normalizer(dataset, limits == null ? NormalizationLimits.UNLIMITED : limits, this.rdfc10).normalize();
+        }
+
+        @Override
+        public void write(RdfDataset dataset, Writer writer) throws IOException {
+
+            if (! this.rdfc10) {
+                CanonicalizationEngine.super.write(dataset, writer);
+                return;
+            }
+            for (RdfNQuad quad : dataset.toList()) writer.write(serialize(quad, true));
+        }
+    }
+
+    private static class NDegreeResult {
+
+        private final String hash;
+        private final IdentifierIssuer issuer;
+
+        private NDegreeResult(String hash, IdentifierIssuer issuer) {
+            this.hash = hash;
+            this.issuer = issuer;
+        }
+    }
+
+    private static class Permutations implements Iterator<String[]> {
+
+        private final String[] array;
+        private final int[] count;
+        private int state = 0;
+        private boolean hasNext = true;
+
+        private Permutations(String[] array) {
+            this.array = array;
+            this.count = new int[array.length];
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.hasNext;
+        }
+
+        @Override
+        public String[] next() {
+
+            if (! this.hasNext) throw new NoSuchElementException();
+            String[] permutation = this.array.clone();
+
+            while (this.state < this.array.length) {
+                if (this.count[this.state] < this.state) {
+                    this.swap((this.state & 1) == 0 ? 0 : this.count[this.state], this.state);
+                    this.count[this.state]++;
+                    this.state = 0;
+                    return permutation;
+                }
+                this.count[this.state] = 0;
+                this.state++;
+            }
+
+            this.hasNext = false;
+            return permutation;
+        }
+
+        private void swap(int i, int j) {
+            String t = this.array[i];
+            this.array[i] = this.array[j];
+            this.array[j] = t;
+        }
+    }
+}
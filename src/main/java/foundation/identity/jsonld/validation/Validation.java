@@ -6,13 +6,12 @@ import com.apicatalog.jsonld.document.JsonDocument;
 import com.apicatalog.jsonld.http.media.MediaType;
 import com.apicatalog.jsonld.processor.ExpansionProcessor;
 import foundation.identity.jsonld.JsonLDObject;
+import foundation.identity.jsonld.JsonLDTraversal;
 import jakarta.json.Json;
 import jakarta.json.JsonArray;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonValue;
 
-import java.util.Map;
-
 public class Validation {
 
     private static void validateTrue(boolean valid) throws IllegalStateException {
@@ -22,26 +21,20 @@ public class Validation {
 
     private static final String UNDEFINED_TERM_URI = "urn:UNDEFINEDTERM";
 
-    private static void findUndefinedTerms(JsonArray jsonArray) {
-
-        for (JsonValue entry : jsonArray) {
-
-            if (entry instanceof JsonObject) findUndefinedTerms((JsonObject) entry);
-        }
-    }
+    private static void findUndefinedTerms(JsonValue jsonValue) {
 
-    private static void findUndefinedTerms(JsonObject jsonObject) {
+        JsonLDTraversal.forEachJakartaJsonObject(jsonValue, jsonObject -> {
 
-        for (Map.Entry<String, JsonValue> entry : jsonObject.entrySet()) {
+            for (String key : jsonObject.keySet()) {
 
-            if (entry.getKey().startsWith(UNDEFINED_TERM_URI)) {
+                if (key.startsWith(UNDEFINED_TERM_URI)) {
 
-                throw new RuntimeException("Undefined JSON-LD term: " + entry.getKey().substring(UNDEFINED_TERM_URI.length()));
+                    throw new RuntimeException("Undefined JSON-LD term: " + key.substring(UNDEFINED_TERM_URI.length()));
+                }
             }
 
-            if (entry.getValue() instanceof JsonArray) findUndefinedTerms((JsonArray) entry.getValue());
-            if (entry.getValue() instanceof JsonObject) findUndefinedTerms((JsonObject) entry.getValue());
-        }
+            return true;
+        });
     }
 
     private static void validateJsonLd(JsonLDObject jsonLdObject) {
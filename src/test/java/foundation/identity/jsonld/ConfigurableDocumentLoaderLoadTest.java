@@ -0,0 +1,185 @@
+package foundation.identity.jsonld;
+
+import com.apicatalog.jsonld.JsonLdError;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.loader.DocumentLoader;
+import com.apicatalog.jsonld.loader.DocumentLoaderOptions;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Concurrent loads against a local context server with simulated latency and failures.
+ * Excluded from the default build, run with: mvn test -Dtest.excludedGroups= -Dgroups=load
+ */
+
+@Tag("load")
+public class ConfigurableDocumentLoaderLoadTest {
+
+	static final int THREADS = 8;
+	static final int LOADS_PER_THREAD = 50;
+
+	private ContextServer contextServer;
+	private List<URI> contextUris;
+
+	@BeforeEach
+	public void before() throws Throwable {
+
+		this.contextServer = new ContextServer();
+		this.contextUris = new ArrayList<>();
+		for (String context : ContextServer.CONTEXTS) this.contextUris.add(this.contextServer.uri(context));
+	}
+
+	@AfterEach
+	public void after() {
+
+		this.contextServer.close();
+	}
+
+	@Test
+	public void testServer() throws Throwable {
+
+		HttpClient httpClient = HttpClient.newHttpClient();
+		URI uri = this.contextServer.uri("credentials-v1.jsonld");
+
+		HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofByteArray());
+		assertEquals(200, response.statusCode());
+		String etag = response.headers().firstValue("ETag").orElseThrow();
+		assertEquals(ContextServer.etag(response.body()), etag);
+
+		response = httpClient.send(HttpRequest.newBuilder(uri).header("If-None-Match", etag).build(), HttpResponse.BodyHandlers.ofByteArray());
+		assertEquals(304, response.statusCode());
+		assertEquals(1, this.contextServer.getNotModified());
+
+		response = httpClient.send(HttpRequest.newBuilder(this.contextServer.uri("missing.jsonld")).build(), HttpResponse.BodyHandlers.ofByteArray());
+		assertEquals(404, response.statusCode());
+	}
+
+	@Test
+	public void testLoadWithoutRemoteCache() throws Throwable {
+
+		this.contextServer.setLatency(Duration.ofMillis(2), Duration.ofMillis(3));
+		ConfigurableDocumentLoader documentLoader = httpDocumentLoader();
+
+		LoadResult loadResult = load(documentLoader, this.contextUris);
+
+		assertEquals(0, loadResult.failures);
+		assertEquals(THREADS * LOADS_PER_THREAD, this.contextServer.getTotalRequests());
+	}
+
+	@Test
+	public void testLoadWithRemoteCache() throws Throwable {
+
+		this.contextServer.setLatency(Duration.ofMillis(2), Duration.ofMillis(3));
+		ConfigurableDocumentLoader documentLoader = httpDocumentLoader();
+		documentLoader.setRemoteCache(Caffeine.newBuilder().maximumSize(100).build());
+
+		LoadResult loadResult = load(documentLoader, this.contextUris);
+
+		assertEquals(0, loadResult.failures);
+		assertTrue(this.contextServer.getTotalRequests() >= this.contextUris.size());
+		assertTrue(this.contextServer.getTotalRequests() < THREADS * LOADS_PER_THREAD);
+	}
+
+	@Test
+	public void testLoadWithFailures() throws Throwable {
+
+		this.contextServer.setFailureRate(0.2, 503);
+		ConfigurableDocumentLoader documentLoader = httpDocumentLoader();
+
+		LoadResult loadResult = load(documentLoader, this.contextUris);
+
+		assertTrue(loadResult.failures > 0);
+		assertTrue(loadResult.failures < THREADS * LOADS_PER_THREAD);
+
+		this.contextServer.setFailureRate(1, 500);
+		assertThrows(JsonLdError.class, () -> documentLoader.loadDocument(this.contextUris.get(0), new DocumentLoaderOptions()));
+	}
+
+	@Test
+	public void testLoadWithOutage() throws Throwable {
+
+		this.contextServer.setLatency(Duration.ofMillis(20), Duration.ZERO);
+		this.contextServer.setFailureRate(1, 503);
+		ConfigurableDocumentLoader documentLoader = httpDocumentLoader();
+		documentLoader.setNegativeCacheTtl(Duration.ofSeconds(5));
+		documentLoader.setCircuitBreakerFailureThreshold(3);
+
+		LoadResult loadResult = load(documentLoader, this.contextUris);
+
+		assertEquals(THREADS * LOADS_PER_THREAD, loadResult.failures);
+		assertTrue(this.contextServer.getTotalRequests() <= THREADS + this.contextUris.size());
+	}
+
+	/*
+	 * Helper methods
+	 */
+
+	static ConfigurableDocumentLoader httpDocumentLoader() {
+
+		ConfigurableDocumentLoader documentLoader = new ConfigurableDocumentLoader();
+		documentLoader.setEnableLocalCache(false);
+		documentLoader.setEnableHttp(true);
+		return documentLoader;
+	}
+
+	static class LoadResult {
+
+		long loads;
+		long failures;
+	}
+
+	static LoadResult load(DocumentLoader documentLoader, List<URI> uris) throws Throwable {
+
+		return load(documentLoader, uris, THREADS, LOADS_PER_THREAD);
+	}
+
+	static LoadResult load(DocumentLoader documentLoader, List<URI> uris, int threads, int loadsPerThread) throws Throwable {
+
+		ExecutorService executorService = Executors.newFixedThreadPool(threads);
+		AtomicLong failures = new AtomicLong();
+
+		try {
+
+			List<Future<Integer>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				futures.add(executorService.submit(() -> {
+					for (int j = 0; j < loadsPerThread; j++) {
+						URI uri = uris.get(ThreadLocalRandom.current().nextInt(uris.size()));
+						try {
+							Document document = documentLoader.loadDocument(uri, new DocumentLoaderOptions());
+							if (document == null) failures.incrementAndGet();
+						} catch (JsonLdError ex) {
+							failures.incrementAndGet();
+						}
+					}
+					return loadsPerThread;
+				}));
+			}
+
+			LoadResult loadResult = new LoadResult();
+			for (Future<Integer> future : futures) loadResult.loads += future.get();
+			loadResult.failures = failures.get();
+			return loadResult;
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+}
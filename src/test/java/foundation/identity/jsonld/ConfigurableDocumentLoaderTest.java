@@ -0,0 +1,495 @@
+package foundation.identity.jsonld;
+
+import com.apicatalog.jsonld.JsonLdError;
+import com.apicatalog.jsonld.JsonLdErrorCode;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.loader.DocumentLoader;
+import com.apicatalog.jsonld.loader.DocumentLoaderOptions;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConfigurableDocumentLoaderTest {
+
+	static final URI CREDENTIALS_V1 = URI.create("https://www.w3.org/2018/credentials/v1");
+
+	@Test
+	public void testPinnedContexts() throws Throwable {
+
+		ConfigurableDocumentLoader documentLoader = new ConfigurableDocumentLoader(NormalizationAlgorithmTest.localCache);
+		String hash = ConfigurableDocumentLoader.contextHash(NormalizationAlgorithmTest.localCache.get(CREDENTIALS_V1));
+
+		Map<URI, String> pinnedContexts = new HashMap<>();
+		pinnedContexts.put(CREDENTIALS_V1, hash);
+		documentLoader.setPinnedContexts(pinnedContexts);
+		assertNotNull(documentLoader.loadDocument(CREDENTIALS_V1, new DocumentLoaderOptions()));
+
+		pinnedContexts.put(CREDENTIALS_V1, hash.replace(hash.charAt(0), hash.charAt(0) == '0' ? '1' : '0'));
+		assertEquals(hash, documentLoader.getPinnedContexts().get(CREDENTIALS_V1));
+		assertThrows(UnsupportedOperationException.class, () -> documentLoader.getPinnedContexts().clear());
+		assertNotNull(documentLoader.loadDocument(CREDENTIALS_V1, new DocumentLoaderOptions()));
+
+		documentLoader.setPinnedContexts(pinnedContexts);
+		assertThrows(JsonLdError.class, () -> documentLoader.loadDocument(CREDENTIALS_V1, new DocumentLoaderOptions()));
+	}
+
+	@Test
+	public void testContextHashCanonicalForm() throws Throwable {
+
+		JsonDocument jsonDocument = JsonDocument.of(ConfigurableDocumentLoaderTest.class.getResourceAsStream("jcs.input.json"));
+		String canonical = new String(ConfigurableDocumentLoaderTest.class.getResourceAsStream("jcs.canonical.json").readAllBytes(), StandardCharsets.UTF_8);
+
+		assertEquals(canonical, JsonCanonicalizer.canonicalize(jsonDocument.getJsonContent().get()));
+		assertEquals(DigestUtils.sha256Hex(canonical.getBytes(StandardCharsets.UTF_8)), ConfigurableDocumentLoader.contextHash(jsonDocument));
+		assertEquals(ConfigurableDocumentLoader.contextHash(jsonDocument), ConfigurableDocumentLoader.contextHash(JsonDocument.of(new StringReader(canonical))));
+	}
+
+	@Test
+	public void testNegativeCache() throws Throwable {
+
+		try (ContextServer contextServer = new ContextServer()) {
+
+			URI uri = contextServer.uri("credentials-v1.jsonld");
+			ConfigurableDocumentLoader documentLoader = ConfigurableDocumentLoaderLoadTest.httpDocumentLoader();
+			documentLoader.setNegativeCacheTtl(Duration.ofMillis(200));
+
+			contextServer.setFailureRate(1, 503);
+			JsonLdError ex = assertThrows(JsonLdError.class, () -> documentLoader.loadDocument(uri, new DocumentLoaderOptions()));
+			JsonLdError ex1 = assertThrows(JsonLdError.class, () -> documentLoader.loadDocument(uri, new DocumentLoaderOptions()));
+			JsonLdError ex2 = assertThrows(JsonLdError.class, () -> documentLoader.loadDocument(uri, new DocumentLoaderOptions()));
+			assertNotSame(ex1, ex2);
+			assertSame(ex, ex1.getCause());
+			assertSame(ex, ex2.getCause());
+			assertEquals(0, ex.getSuppressed().length);
+			assertEquals(1, contextServer.getTotalRequests());
+
+			contextServer.setFailureRate(0, 503);
+			Thread.sleep(250);
+			assertNotNull(documentLoader.loadDocument(uri, new DocumentLoaderOptions()));
+			assertEquals(2, contextServer.getTotalRequests());
+		}
+	}
+
+	@Test
+	public void testCircuitBreaker() throws Throwable {
+
+		try (ContextServer contextServer = new ContextServer()) {
+
+			ConfigurableDocumentLoader documentLoader = ConfigurableDocumentLoaderLoadTest.httpDocumentLoader();
+			documentLoader.setCircuitBreakerFailureThreshold(3);
+			documentLoader.setCircuitBreakerOpenDuration(Duration.ofMillis(200));
+
+			contextServer.setFailureRate(1, 503);
+			for (String context : ContextServer.CONTEXTS) assertThrows(JsonLdError.class, () -> documentLoader.loadDocument(contextServer.uri(context), new DocumentLoaderOptions()));
+			assertEquals(3, contextServer.getTotalRequests());
+
+			contextServer.setFailureRate(0, 503);
+			Thread.sleep(250);
+			for (String context : ContextServer.CONTEXTS) assertNotNull(documentLoader.loadDocument(contextServer.uri(context), new DocumentLoaderOptions()));
+			assertEquals(3 + ContextServer.CONTEXTS.length, contextServer.getTotalRequests());
+		}
+	}
+
+	@Test
+	public void testCircuitBreakerTrialWithRuntimeException() throws Throwable {
+
+		URI uri = URI.create("http://example.com/context");
+		AtomicInteger mode = new AtomicInteger();
+
+		ConfigurableDocumentLoader documentLoader = ConfigurableDocumentLoaderLoadTest.httpDocumentLoader();
+		documentLoader.setHttpLoader((url, options) -> {
+			if (mode.get() == 0) throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED);
+			if (mode.get() == 1) throw new IllegalStateException("parser failure");
+			return NormalizationAlgorithmTest.localCache.get(CREDENTIALS_V1);
+		});
+		documentLoader.setCircuitBreakerFailureThreshold(1);
+		documentLoader.setCircuitBreakerOpenDuration(Duration.ofMillis(50));
+
+		assertThrows(JsonLdError.class, () -> documentLoader.loadDocument(uri, new DocumentLoaderOptions()));
+		assertThrows(JsonLdError.class, () -> documentLoader.loadDocument(uri, new DocumentLoaderOptions()));
+
+		Thread.sleep(60);
+		mode.set(1);
+		assertThrows(IllegalStateException.class, () -> documentLoader.loadDocument(uri, new DocumentLoaderOptions()));
+
+		Thread.sleep(60);
+		mode.set(2);
+		assertNotNull(documentLoader.loadDocument(uri, new DocumentLoaderOptions()));
+	}
+
+	@Test
+	public void testCircuitBreakerTrialOwnedByOneRequest() throws Throwable {
+
+		URI slowUri = URI.create("http://example.com/slow");
+		URI failingUri = URI.create("http://example.com/failing");
+		URI trialUri = URI.create("http://example.com/trial");
+		URI otherUri = URI.create("http://example.com/other");
+		CountDownLatch slowStarted = new CountDownLatch(1);
+		CountDownLatch slowRelease = new CountDownLatch(1);
+		CountDownLatch trialStarted = new CountDownLatch(1);
+		CountDownLatch trialRelease = new CountDownLatch(1);
+
+		ConfigurableDocumentLoader documentLoader = ConfigurableDocumentLoaderLoadTest.httpDocumentLoader();
+		documentLoader.setHttpLoader((url, options) -> {
+			try {
+				if (url.equals(slowUri)) { slowStarted.countDown(); slowRelease.await(); throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED); }
+				if (url.equals(failingUri)) throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED);
+				if (url.equals(trialUri)) { trialStarted.countDown(); trialRelease.await(); }
+			} catch (InterruptedException ex) {
+				throw new IllegalStateException(ex);
+			}
+			return NormalizationAlgorithmTest.localCache.get(CREDENTIALS_V1);
+		});
+		documentLoader.setCircuitBreakerFailureThreshold(1);
+		documentLoader.setCircuitBreakerOpenDuration(Duration.ofMillis(50));
+
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			Future<?> slow = executorService.submit(() -> documentLoader.loadDocument(slowUri, new DocumentLoaderOptions()));
+			slowStarted.await();
+			assertThrows(JsonLdError.class, () -> documentLoader.loadDocument(failingUri, new DocumentLoaderOptions()));
+
+			Thread.sleep(60);
+			Future<?> trial = executorService.submit(() -> documentLoader.loadDocument(trialUri, new DocumentLoaderOptions()));
+			trialStarted.await();
+
+			// the older request fails late while the trial is still running
+
+			slowRelease.countDown();
+			assertThrows(ExecutionException.class, slow::get);
+			Thread.sleep(60);
+			JsonLdError ex = assertThrows(JsonLdError.class, () -> documentLoader.loadDocument(otherUri, new DocumentLoaderOptions()));
+			assertTrue(ex.getMessage().startsWith("Circuit open"));
+
+			trialRelease.countDown();
+			assertNotNull(trial.get());
+			assertNotNull(documentLoader.loadDocument(otherUri, new DocumentLoaderOptions()));
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testHttpLoaderConfiguration() throws Throwable {
+
+		try (ContextServer contextServer = new ContextServer()) {
+
+			ConfigurableDocumentLoader documentLoader = ConfigurableDocumentLoaderLoadTest.httpDocumentLoader();
+			documentLoader.setHttpLoaderConfiguration(HttpLoaderConfiguration.builder().requestTimeout(Duration.ofMillis(100)).http2(false).executorThreads(2).build());
+
+			contextServer.setLatency(Duration.ofMillis(1000), Duration.ZERO);
+			long start = System.nanoTime();
+			assertThrows(JsonLdError.class, () -> documentLoader.loadDocument(contextServer.uri("credentials-v1.jsonld"), new DocumentLoaderOptions()));
+			assertTrue(System.nanoTime() - start < 900_000_000L);
+		}
+
+		try (ContextServer contextServer = new ContextServer()) {
+
+			ConfigurableDocumentLoader documentLoader = ConfigurableDocumentLoaderLoadTest.httpDocumentLoader();
+			documentLoader.setHttpLoaderConfiguration(HttpLoaderConfiguration.builder().maxConcurrentFetchesPerHost(1).build());
+
+			contextServer.setLatency(Duration.ofMillis(20), Duration.ZERO);
+
+			ConfigurableDocumentLoaderLoadTest.LoadResult loadResult = ConfigurableDocumentLoaderLoadTest.load(documentLoader, Collections.singletonList(contextServer.uri("credentials-v1.jsonld")), 4, 5);
+			assertEquals(0, loadResult.failures);
+			assertEquals(20, contextServer.getTotalRequests());
+			assertEquals(1, contextServer.getMaxInFlight());
+		}
+
+		ConfigurableDocumentLoader documentLoader = ConfigurableDocumentLoaderLoadTest.httpDocumentLoader();
+		assertNull(documentLoader.getHttpExecutor());
+		assertNull(HttpLoaderConfiguration.DEFAULT.getConnectTimeout());
+		assertNull(HttpLoaderConfiguration.DEFAULT.getRequestTimeout());
+
+		documentLoader.setHttpLoaderConfiguration(HttpLoaderConfiguration.builder().executorThreads(2).build());
+		ExecutorService httpExecutor = documentLoader.getHttpExecutor();
+		assertNotNull(httpExecutor);
+		assertEquals(1024, ((ThreadPoolExecutor) httpExecutor).getQueue().remainingCapacity());
+		assertTrue(((ThreadPoolExecutor) httpExecutor).getRejectedExecutionHandler() instanceof ThreadPoolExecutor.CallerRunsPolicy);
+		documentLoader.setHttpLoaderConfiguration(HttpLoaderConfiguration.builder().executorThreads(2).build());
+		assertTrue(httpExecutor.isShutdown());
+		assertFalse(documentLoader.getHttpExecutor().isShutdown());
+	}
+
+	@Test
+	public void testDiskCache() throws Throwable {
+
+		Path directory = Files.createTempDirectory("jsonld-disk-cache");
+
+		try (ContextServer contextServer = new ContextServer()) {
+
+			URI uri = contextServer.uri("security-v3-unstable.jsonld");
+
+			ConfigurableDocumentLoader documentLoader1 = ConfigurableDocumentLoaderLoadTest.httpDocumentLoader();
+			documentLoader1.setDiskCache(new DiskDocumentCache(directory, Duration.ofHours(1), 1024 * 1024));
+			Document document1 = documentLoader1.loadDocument(uri, new DocumentLoaderOptions());
+
+			contextServer.setFailureRate(1, 503);
+			ConfigurableDocumentLoader documentLoader2 = ConfigurableDocumentLoaderLoadTest.httpDocumentLoader();
+			documentLoader2.setDiskCache(new DiskDocumentCache(directory, Duration.ofHours(1), 1024 * 1024));
+			Document document2 = documentLoader2.loadDocument(uri, new DocumentLoaderOptions());
+
+			assertEquals(1, contextServer.getTotalRequests());
+			assertEquals(document1.getJsonContent().get(), document2.getJsonContent().get());
+			assertEquals(uri, document2.getDocumentUrl());
+
+			DiskDocumentCache diskCache = new DiskDocumentCache(directory, Duration.ofHours(1), 1024);
+			assertTrue(diskCache.size() > 1024);
+			diskCache.put(contextServer.uri("credentials-v1.jsonld"), NormalizationAlgorithmTest.localCache.get(CREDENTIALS_V1));
+			assertTrue(diskCache.size() <= 1024);
+			assertNull(diskCache.get(uri));
+
+			diskCache = new DiskDocumentCache(directory, Duration.ZERO, 1024 * 1024);
+			diskCache.put(uri, document1);
+			Thread.sleep(10);
+			assertNull(diskCache.get(uri));
+		} finally {
+			try (Stream<Path> files = Files.list(directory)) {
+				for (Path file : (Iterable<Path>) files::iterator) Files.delete(file);
+			}
+			Files.delete(directory);
+		}
+	}
+
+	@Test
+	public void testDiskCacheTemporaryFilesAndExpiry() throws Throwable {
+
+		Path directory = Files.createTempDirectory("jsonld-disk-cache");
+
+		try {
+
+			Path temporaryFile = Files.writeString(directory.resolve("orphan.jsonld123.tmp"), "{\"@context\":");
+			DiskDocumentCache diskCache = new DiskDocumentCache(directory, Duration.ofHours(1), 1024 * 1024);
+			assertFalse(Files.exists(temporaryFile));
+			assertEquals(0, diskCache.size());
+
+			URI uri = URI.create("https://example.com/context/expired");
+			diskCache.put(uri, NormalizationAlgorithmTest.localCache.get(CREDENTIALS_V1));
+			Path file;
+			try (Stream<Path> files = Files.list(directory)) {
+				file = files.findFirst().orElseThrow();
+			}
+			Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - Duration.ofHours(2).toMillis()));
+			assertNull(diskCache.get(uri));
+			assertFalse(Files.exists(file));
+			assertEquals(0, diskCache.size());
+
+			diskCache.put(uri, NormalizationAlgorithmTest.localCache.get(CREDENTIALS_V1));
+			assertNotNull(diskCache.get(uri));
+			assertEquals(Files.size(file), diskCache.size());
+		} finally {
+			try (Stream<Path> files = Files.list(directory)) {
+				for (Path file : (Iterable<Path>) files::iterator) Files.delete(file);
+			}
+			Files.delete(directory);
+		}
+	}
+
+	@Test
+	public void testDiskCacheConcurrentSizeAccounting() throws Throwable {
+
+		Path directory = Files.createTempDirectory("jsonld-disk-cache");
+		ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+		try {
+
+			Document document = NormalizationAlgorithmTest.localCache.get(CREDENTIALS_V1);
+			DiskDocumentCache diskCache = new DiskDocumentCache(directory, Duration.ofHours(1), 5 * Files.size(Path.of(NormalizationAlgorithmTest.class.getResource("credentials-v1.jsonld").toURI())));
+
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				int thread = i;
+				futures.add(executorService.submit(() -> {
+					for (int j = 0; j < 20; j++) {
+						URI uri = URI.create("https://example.com/context/" + (thread * 20 + j) % 12);
+						diskCache.put(uri, document);
+						if (j % 3 == 0) diskCache.invalidate(uri);
+						diskCache.get(uri);
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) future.get();
+
+			long total = 0;
+			try (Stream<Path> files = Files.list(directory)) {
+				for (Path file : (Iterable<Path>) files::iterator) total += Files.size(file);
+			}
+			assertEquals(total, diskCache.size());
+			assertTrue(diskCache.size() <= diskCache.getMaxBytes());
+		} finally {
+			executorService.shutdownNow();
+			try (Stream<Path> files = Files.list(directory)) {
+				for (Path file : (Iterable<Path>) files::iterator) Files.delete(file);
+			}
+			Files.delete(directory);
+		}
+	}
+
+	@Test
+	public void testWeighedRemoteCache() throws Throwable {
+
+		URI securityV3 = URI.create("https://w3id.org/security/v3");
+		long credentialsV1Size = DocumentCaches.estimateSize(CREDENTIALS_V1, NormalizationAlgorithmTest.localCache.get(CREDENTIALS_V1));
+		long securityV3Size = DocumentCaches.estimateSize(securityV3, NormalizationAlgorithmTest.localCache.get(securityV3));
+		assertTrue(securityV3Size > credentialsV1Size);
+
+		Cache<URI, Document> remoteCache = DocumentCaches.newRemoteCache(securityV3Size + credentialsV1Size / 2);
+		for (Map.Entry<URI, JsonDocument> entry : NormalizationAlgorithmTest.localCache.entrySet()) remoteCache.put(entry.getKey(), entry.getValue());
+		remoteCache.cleanUp();
+
+		assertTrue(remoteCache.stats().evictionCount() > 0);
+		assertTrue(remoteCache.policy().eviction().get().weightedSize().getAsLong() <= securityV3Size + credentialsV1Size / 2);
+	}
+
+	@Test
+	public void testTenantDocumentLoader() throws Throwable {
+
+		try (ContextServer contextServer = new ContextServer()) {
+
+			URI securityV2 = URI.create("https://w3id.org/security/v2");
+			URI remote1 = contextServer.uri("security-v1.jsonld");
+			URI remote2 = contextServer.uri("security-v2.jsonld");
+
+			ConfigurableDocumentLoader remoteLoader = ConfigurableDocumentLoaderLoadTest.httpDocumentLoader();
+			remoteLoader.setRemoteCache(DocumentCaches.newRemoteCache(1024 * 1024));
+			TenantDocumentLoader tenantDocumentLoader = new TenantDocumentLoader(NormalizationAlgorithmTest.localCache, remoteLoader);
+
+			DocumentLoader tenant1 = tenantDocumentLoader.registerTenant("tenant1", Set.of(CREDENTIALS_V1, remote1, remote2), 1);
+			DocumentLoader tenant2 = tenantDocumentLoader.registerTenant("tenant2", Set.of(CREDENTIALS_V1, securityV2), 0);
+
+			assertSame(NormalizationAlgorithmTest.localCache.get(CREDENTIALS_V1), tenant1.loadDocument(CREDENTIALS_V1, new DocumentLoaderOptions()));
+			assertSame(NormalizationAlgorithmTest.localCache.get(securityV2), tenant2.loadDocument(securityV2, new DocumentLoaderOptions()));
+			assertThrows(JsonLdError.class, () -> tenant1.loadDocument(securityV2, new DocumentLoaderOptions()));
+
+			assertNotNull(tenant1.loadDocument(remote1, new DocumentLoaderOptions()));
+			assertNotNull(tenant1.loadDocument(remote1, new DocumentLoaderOptions()));
+			assertThrows(JsonLdError.class, () -> tenant1.loadDocument(remote2, new DocumentLoaderOptions()));
+			assertEquals(1, contextServer.getTotalRequests());
+
+			assertSame(tenant1, tenantDocumentLoader.forTenant("tenant1"));
+			assertThrows(IllegalArgumentException.class, () -> tenantDocumentLoader.forTenant("tenant3"));
+		}
+	}
+
+	@Test
+	public void testTenantDocumentLoaderQuota() throws Throwable {
+
+		URI contextUri = URI.create("https://example.com/context");
+		ConfigurableDocumentLoader localLoader = new ConfigurableDocumentLoader(Map.of(contextUri, NormalizationAlgorithmTest.localCache.get(CREDENTIALS_V1)));
+		DocumentLoader tenant1 = new TenantDocumentLoader(Map.of(), localLoader).registerTenant("tenant1", null, 0);
+
+		for (int i = 0; i < 10; i++) assertNotNull(tenant1.loadDocument(contextUri, new DocumentLoaderOptions()));
+
+		AtomicInteger remoteLoads = new AtomicInteger();
+		DocumentLoader remoteLoader = (url, options) -> {
+			remoteLoads.incrementAndGet();
+			return NormalizationAlgorithmTest.localCache.get(CREDENTIALS_V1);
+		};
+		DocumentLoader tenant2 = new TenantDocumentLoader(Map.of(), remoteLoader, Duration.ofHours(1)).registerTenant("tenant2", null, 10);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(8);
+		AtomicInteger rejected = new AtomicInteger();
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				futures.add(executorService.submit(() -> {
+					try {
+						tenant2.loadDocument(contextUri, new DocumentLoaderOptions());
+					} catch (JsonLdError ex) {
+						rejected.incrementAndGet();
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) future.get();
+		} finally {
+			executorService.shutdownNow();
+		}
+
+		assertEquals(10, remoteLoads.get());
+		assertEquals(90, rejected.get());
+	}
+
+	@Test
+	public void testTenantQuotaChargedOnlyOnFetch() throws Throwable {
+
+		URI goodUri = URI.create("https://example.com/good");
+		URI badUri = URI.create("https://example.com/bad");
+		URI otherUri = URI.create("https://example.com/other");
+
+		AtomicInteger fetches = new AtomicInteger();
+		ConfigurableDocumentLoader remoteLoader = new ConfigurableDocumentLoader();
+		remoteLoader.setEnableHttps(true);
+		remoteLoader.setRemoteCache(DocumentCaches.newRemoteCache(1 << 20));
+		remoteLoader.setNegativeCacheTtl(Duration.ofHours(1));
+		remoteLoader.setHttpLoader((url, options) -> {
+			fetches.incrementAndGet();
+			if (url.equals(badUri)) throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Not found: " + url);
+			return NormalizationAlgorithmTest.localCache.get(CREDENTIALS_V1);
+		});
+
+		DocumentLoader tenant = new TenantDocumentLoader(Map.of(), remoteLoader, Duration.ofHours(1)).registerTenant("tenant", null, 2);
+
+		assertNotNull(tenant.loadDocument(goodUri, new DocumentLoaderOptions()));
+		assertThrows(JsonLdError.class, () -> tenant.loadDocument(badUri, new DocumentLoaderOptions()));
+		assertEquals(2, fetches.get());
+
+		// remote cache hits, negative cache hits and disallowed schemes do not reach the network
+
+		for (int i = 0; i < 5; i++) {
+			assertNotNull(tenant.loadDocument(goodUri, new DocumentLoaderOptions()));
+			JsonLdError ex = assertThrows(JsonLdError.class, () -> tenant.loadDocument(badUri, new DocumentLoaderOptions()));
+			assertTrue(ex.getMessage().startsWith("Recently failed"));
+			assertNull(tenant.loadDocument(URI.create("http://example.com/insecure"), new DocumentLoaderOptions()));
+		}
+		assertEquals(2, fetches.get());
+
+		JsonLdError ex = assertThrows(JsonLdError.class, () -> tenant.loadDocument(otherUri, new DocumentLoaderOptions()));
+		assertTrue(ex.getMessage().startsWith("Remote context quota exceeded"));
+		assertEquals(2, fetches.get());
+	}
+
+	@Test
+	public void testTenantAllowedContextSetsReleased() throws Throwable {
+
+		TenantDocumentLoader tenantDocumentLoader = new TenantDocumentLoader(Map.of(), null);
+		for (int i = 0; i < 100; i++) {
+			tenantDocumentLoader.registerTenant("tenant" + i, Set.of(URI.create("https://example.com/" + i)), 1);
+			tenantDocumentLoader.registerTenant("shared" + i, Set.of(CREDENTIALS_V1), 1);
+		}
+		assertEquals(101, tenantDocumentLoader.getAllowedContextSets().size());
+
+		for (int i = 0; i < 100; i++) tenantDocumentLoader.unregisterTenant("tenant" + i);
+		for (int i = 0; i < 99; i++) tenantDocumentLoader.unregisterTenant("shared" + i);
+		assertEquals(Set.of(Set.of(CREDENTIALS_V1)), tenantDocumentLoader.getAllowedContextSets().keySet());
+
+		tenantDocumentLoader.registerTenant("shared99", Set.of(URI.create("https://example.com/replaced")), 1);
+		assertEquals(Set.of(Set.of(URI.create("https://example.com/replaced"))), tenantDocumentLoader.getAllowedContextSets().keySet());
+	}
+}
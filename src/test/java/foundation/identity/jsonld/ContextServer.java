@@ -0,0 +1,176 @@
+package foundation.identity.jsonld;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ContextServer implements AutoCloseable {
+
+	static final String[] CONTEXTS = new String[] { "credentials-v1.jsonld", "credentials-v2-unstable.jsonld", "security-v1.jsonld", "security-v2.jsonld", "security-v3-unstable.jsonld" };
+
+	static {
+
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+	}
+
+	private final HttpServer httpServer;
+	private final ExecutorService executorService;
+	private final Map<String, byte[]> contexts = new ConcurrentHashMap<>();
+	private final Map<String, AtomicLong> requests = new ConcurrentHashMap<>();
+	private final AtomicLong totalRequests = new AtomicLong();
+	private final AtomicLong notModified = new AtomicLong();
+	private final AtomicLong inFlight = new AtomicLong();
+	private final AtomicLong maxInFlight = new AtomicLong();
+
+	private volatile Duration latency = Duration.ZERO;
+	private volatile Duration latencyJitter = Duration.ZERO;
+	private volatile double failureRate = 0;
+	private volatile int failureStatus = 503;
+
+	ContextServer() throws IOException {
+
+		for (String context : CONTEXTS) {
+			try (InputStream inputStream = ContextServer.class.getResourceAsStream(context)) {
+				this.contexts.put("/" + context, inputStream.readAllBytes());
+			}
+		}
+
+		this.executorService = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "context-server");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		this.httpServer.setExecutor(this.executorService);
+		this.httpServer.createContext("/", this::handle);
+		this.httpServer.start();
+	}
+
+	URI uri(String context) {
+		return URI.create("http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + this.httpServer.getAddress().getPort() + "/" + context);
+	}
+
+	static String etag(byte[] content) {
+		return "\"" + DigestUtils.sha256Hex(content) + "\"";
+	}
+
+	/*
+	 * Request handling
+	 */
+
+	private void handle(HttpExchange httpExchange) throws IOException {
+
+		try {
+
+			String path = httpExchange.getRequestURI().getPath();
+			this.totalRequests.incrementAndGet();
+			this.requests.computeIfAbsent(path, x -> new AtomicLong()).incrementAndGet();
+
+			this.maxInFlight.accumulateAndGet(this.inFlight.incrementAndGet(), Math::max);
+			this.sleep();
+			this.inFlight.decrementAndGet();
+
+			if (this.failureRate > 0 && ThreadLocalRandom.current().nextDouble() < this.failureRate) {
+				httpExchange.sendResponseHeaders(this.failureStatus, -1);
+				return;
+			}
+
+			byte[] content = this.contexts.get(path);
+			if (content == null) {
+				httpExchange.sendResponseHeaders(404, -1);
+				return;
+			}
+
+			String etag = etag(content);
+			httpExchange.getResponseHeaders().set("ETag", etag);
+			if (etag.equals(httpExchange.getRequestHeaders().getFirst("If-None-Match"))) {
+				this.notModified.incrementAndGet();
+				httpExchange.sendResponseHeaders(304, -1);
+				return;
+			}
+
+			httpExchange.getResponseHeaders().set("Content-Type", "application/ld+json");
+			httpExchange.sendResponseHeaders(200, content.length);
+			try (OutputStream outputStream = httpExchange.getResponseBody()) {
+				outputStream.write(content);
+			}
+		} finally {
+			httpExchange.close();
+		}
+	}
+
+	private void sleep() {
+
+		long millis = this.latency.toMillis();
+		if (! this.latencyJitter.isZero()) millis += ThreadLocalRandom.current().nextLong(this.latencyJitter.toMillis() + 1);
+		if (millis <= 0) return;
+
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/*
+	 * Configuration and statistics
+	 */
+
+	void setLatency(Duration latency, Duration latencyJitter) {
+		this.latency = latency;
+		this.latencyJitter = latencyJitter;
+	}
+
+	void setFailureRate(double failureRate, int failureStatus) {
+		this.failureRate = failureRate;
+		this.failureStatus = failureStatus;
+	}
+
+	void setContext(String context, byte[] content) {
+		this.contexts.put("/" + context, content);
+	}
+
+	long getRequests(String context) {
+		AtomicLong requests = this.requests.get("/" + context);
+		return requests == null ? 0 : requests.get();
+	}
+
+	long getTotalRequests() {
+		return this.totalRequests.get();
+	}
+
+	long getNotModified() {
+		return this.notModified.get();
+	}
+
+	long getMaxInFlight() {
+		return this.maxInFlight.get();
+	}
+
+	void resetStatistics() {
+		this.requests.clear();
+		this.maxInFlight.set(0);
+		this.totalRequests.set(0);
+		this.notModified.set(0);
+	}
+
+	@Override
+	public void close() {
+		this.httpServer.stop(0);
+		this.executorService.shutdownNow();
+	}
+}
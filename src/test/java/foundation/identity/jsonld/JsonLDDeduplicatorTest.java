@@ -0,0 +1,66 @@
+package foundation.identity.jsonld;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStreamReader;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonLDDeduplicatorTest {
+
+	@Test
+	public void testDeduplicate() throws Throwable {
+
+		List<JsonLDObject> jsonLdObjects = new ArrayList<>();
+		for (String resource : new String[] { "input.vc.jsonld", "input.vp.jsonld", "input.vc.jsonld", "signed.good.rsa.jsonld", "input.vc.jsonld" }) {
+			JsonLDObject jsonLdObject = JsonLDObject.fromJson(new InputStreamReader(JsonLDDeduplicatorTest.class.getResourceAsStream(resource)));
+			jsonLdObject.setDocumentLoader(NormalizationAlgorithmTest.documentLoader);
+			jsonLdObjects.add(jsonLdObject);
+		}
+
+		Map<String, Object> reordered = new LinkedHashMap<>();
+		List<String> keys = new ArrayList<>(jsonLdObjects.get(1).getJsonObject().keySet());
+		Collections.reverse(keys);
+		for (String key : keys) reordered.put(key, jsonLdObjects.get(1).getJsonObject().get(key));
+		JsonLDObject jsonLdObject = JsonLDObject.fromJsonObject(reordered);
+		jsonLdObject.setDocumentLoader(NormalizationAlgorithmTest.documentLoader);
+		jsonLdObjects.add(jsonLdObject);
+
+		JsonLDObject unresolvable = JsonLDObject.fromJson("{\"@context\":\"https://example.com/unknown-context\",\"name\":\"x\"}");
+		unresolvable.setDocumentLoader(NormalizationAlgorithmTest.documentLoader);
+		jsonLdObjects.add(unresolvable);
+		jsonLdObjects.add(jsonLdObjects.get(3));
+
+		JsonLDDeduplicator.Result result = new JsonLDDeduplicator(2, 3).deduplicate(jsonLdObjects);
+
+		assertEquals(jsonLdObjects.get(0), jsonLdObjects.get(2));
+		assertEquals(3, result.getUniques().size());
+		assertSame(jsonLdObjects.get(0), result.getUniques().get(0));
+		assertSame(jsonLdObjects.get(1), result.getUniques().get(1));
+		assertSame(jsonLdObjects.get(3), result.getUniques().get(2));
+		assertEquals(3, result.getDuplicateGroups().size());
+		assertEquals(List.of(0L, 2L, 4L), result.getDuplicateGroups().get(0L));
+		assertEquals(List.of(1L, 5L), result.getDuplicateGroups().get(1L));
+		assertEquals(List.of(3L, 7L), result.getDuplicateGroups().get(3L));
+		assertEquals(Set.of(6L), result.getFailures().keySet());
+		assertTrue(result.getFailures().get(6L) instanceof JsonLDException);
+	}
+
+	@Test
+	public void testCanonicalHashSet() throws Throwable {
+
+		JsonLDDeduplicator.CanonicalHashSet canonicalHashSet = new JsonLDDeduplicator.CanonicalHashSet(4);
+		MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+
+		for (int i = 0; i < 10000; i++) assertEquals(-1, canonicalHashSet.putIfAbsent(messageDigest.digest(Integer.toString(i).getBytes()), i));
+		for (int i = 0; i < 10000; i++) assertEquals(i, canonicalHashSet.putIfAbsent(messageDigest.digest(Integer.toString(i).getBytes()), -2));
+		assertEquals(10000, canonicalHashSet.size());
+	}
+}
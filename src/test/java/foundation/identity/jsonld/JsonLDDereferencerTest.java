@@ -0,0 +1,67 @@
+package foundation.identity.jsonld;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonLDDereferencerTest {
+
+	@Test
+	public void testFindAllByIds() throws Throwable {
+
+		JsonLDObject jsonLdObject = JsonLDObject.fromJson(new InputStreamReader(JsonLDDereferencerTest.class.getResourceAsStream("input.vc.jsonld")));
+
+		URI credentialSubject = URI.create("did:example:ebfeb1f712ebc6f1c276e12ec21");
+		URI college = URI.create("did:example:c276e12ec21ebfeb1f712ebc6f1");
+		URI missing = URI.create("did:example:missing");
+
+		Map<URI, JsonLDObject> result = JsonLDDereferencer.findAllByIds(jsonLdObject, Arrays.asList(credentialSubject, college, missing), null);
+
+		assertEquals(2, result.size());
+		assertEquals(JsonLDDereferencer.findByIdInJsonLdObject(jsonLdObject, credentialSubject, null), result.get(credentialSubject));
+		assertEquals(JsonLDDereferencer.findByIdInJsonLdObject(jsonLdObject, college, null), result.get(college));
+		assertNull(result.get(missing));
+	}
+
+	@Test
+	public void testFindAllByIdsResolvingToSameUri() throws Throwable {
+
+		JsonLDObject jsonLdObject = JsonLDObject.fromJson("{\"id\":\"https://example.com/a/doc\",\"child\":{\"id\":\"https://example.com/a/child\"}}");
+
+		URI absolute = URI.create("https://example.com/a/child");
+		URI relative = URI.create("child");
+		URI dotted = URI.create("../a/child");
+
+		Map<URI, JsonLDObject> result = JsonLDDereferencer.findAllByIds(jsonLdObject, Arrays.asList(absolute, relative, dotted, relative), URI.create("https://example.com/a/doc"));
+
+		assertEquals(3, result.size());
+		assertEquals(absolute, result.get(absolute).getId());
+		assertSame(result.get(absolute), result.get(relative));
+		assertSame(result.get(absolute), result.get(dotted));
+	}
+
+	@Test
+	public void testFindByIdDeeplyNested() throws Throwable {
+
+		Map<String, Object> jsonObject = new LinkedHashMap<>();
+		jsonObject.put("id", "urn:deepest");
+		for (int i = 0; i < 10000; i++) {
+			Map<String, Object> parent = new LinkedHashMap<>();
+			parent.put("child", i % 2 == 0 ? jsonObject : Collections.singletonList(jsonObject));
+			jsonObject = parent;
+		}
+
+		JsonLDObject jsonLdObject = JsonLDObject.fromMap(jsonObject);
+		JsonLDObject found = JsonLDDereferencer.findByIdInJsonLdObject(jsonLdObject, URI.create("urn:deepest"), null);
+
+		assertNotNull(found);
+		assertEquals(URI.create("urn:deepest"), found.getId());
+	}
+}
@@ -0,0 +1,322 @@
+package foundation.identity.jsonld;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.apicatalog.jsonld.document.JsonDocument;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonLDObjectTest {
+
+	@Test
+	public void testFromJsonInterned() throws Throwable {
+
+		JsonLDObject jsonLdObject1 = JsonLDObject.fromJson(new InputStreamReader(JsonLDObjectTest.class.getResourceAsStream("input.vc.jsonld")), true);
+		JsonLDObject jsonLdObject2 = JsonLDObject.fromJson(new InputStreamReader(JsonLDObjectTest.class.getResourceAsStream("input.vc.jsonld")), true);
+		JsonLDObject jsonLdObject3 = JsonLDObject.fromJson(new InputStreamReader(JsonLDObjectTest.class.getResourceAsStream("input.vc.jsonld")));
+
+		assertEquals(jsonLdObject3, jsonLdObject1);
+		assertSame(jsonLdObject1.getTypes().get(0), jsonLdObject2.getTypes().get(0));
+		assertSame(JsonLDUtils.jsonLdGetString(jsonLdObject1.getJsonObject(), "issuer"), JsonLDUtils.jsonLdGetString(jsonLdObject2.getJsonObject(), "issuer"));
+	}
+
+	@Test
+	public void testInterningAfterManyUniqueValues() throws Throwable {
+
+		JsonLDStringInterner stringInterner = new JsonLDStringInterner(64, 256);
+		JsonLDCodec jsonLdCodec = JsonLDCodec.builder().stringInterner(stringInterner).build();
+
+		for (int i = 0; i < 1000; i++) {
+			jsonLdCodec.readJson(new StringReader("{\"id\":\"urn:uuid:" + i + "\",\"issuanceDate\":\"2020-01-01T00:00:" + i + "Z\",\"name\":\"name " + i + "\",\"tags\":[\"tag " + i + "\"]}"), true);
+		}
+		assertEquals(0, stringInterner.size());
+
+		String json = "{\"@context\":[\"https://www.w3.org/2018/credentials/v1\"],\"id\":\"urn:uuid:x\",\"type\":[\"VerifiableCredential\"]}";
+		Map<String, Object> jsonObject1 = jsonLdCodec.readJson(new StringReader(json), true);
+		Map<String, Object> jsonObject2 = jsonLdCodec.readJson(new StringReader(json), true);
+
+		assertSame(((List<?>) jsonObject1.get("@context")).get(0), ((List<?>) jsonObject2.get("@context")).get(0));
+		assertSame(((List<?>) jsonObject1.get("type")).get(0), ((List<?>) jsonObject2.get("type")).get(0));
+		assertNotSame(jsonObject1.get("id"), jsonObject2.get("id"));
+		assertEquals(2, stringInterner.size());
+	}
+
+	@Test
+	public void testToJsonStreaming() throws Throwable {
+
+		JsonLDObject jsonLdObject = JsonLDObject.fromJson(new InputStreamReader(JsonLDObjectTest.class.getResourceAsStream("input.vc.jsonld")));
+
+		StringWriter writer = new StringWriter();
+		jsonLdObject.toJson(writer);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		jsonLdObject.toJson(outputStream, true);
+
+		assertEquals(jsonLdObject.toJson(), writer.toString());
+		assertEquals(jsonLdObject.toJson(true), outputStream.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testCborSmileRoundTrip() throws Throwable {
+
+		for (String resource : new String[] { "input.jsonld", "input.vc.jsonld", "input.vp.jsonld", "signed.good.rsa.jsonld", "security-v3-unstable.jsonld" }) {
+
+			JsonLDObject jsonLdObject = JsonLDObject.fromJson(new InputStreamReader(JsonLDObjectTest.class.getResourceAsStream(resource)));
+
+			assertEquals(jsonLdObject.getJsonObject(), JsonLDObject.fromCbor(jsonLdObject.toCbor()).getJsonObject());
+			assertEquals(jsonLdObject.getJsonObject(), JsonLDObject.fromSmile(new ByteArrayInputStream(jsonLdObject.toSmile())).getJsonObject());
+		}
+	}
+
+	@Test
+	public void testCborSmileConfiguration() throws Throwable {
+
+		ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+		JsonLDCodec jsonLdCodec = JsonLDCodec.builder().objectMapper(objectMapper).build();
+
+		assertTrue(jsonLdCodec.getObjectMapperCbor().isEnabled(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS));
+		assertTrue(jsonLdCodec.getObjectMapperSmile().isEnabled(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS));
+	}
+
+	@Test
+	public void testWithoutBinaryFormats() throws Throwable {
+
+		ClassLoader classLoader = new ClassLoader(JsonLDObjectTest.class.getClassLoader()) {
+
+			@Override
+			protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+				synchronized (this.getClassLoadingLock(name)) {
+					if (name.startsWith("com.fasterxml.jackson.dataformat.")) throw new ClassNotFoundException(name);
+					if (! name.startsWith("foundation.identity.jsonld.")) return super.loadClass(name, resolve);
+					Class<?> loadedClass = this.findLoadedClass(name);
+					if (loadedClass != null) return loadedClass;
+					try (InputStream inputStream = this.getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+						if (inputStream == null) throw new ClassNotFoundException(name);
+						byte[] bytes = inputStream.readAllBytes();
+						return this.defineClass(name, bytes, 0, bytes.length);
+					} catch (IOException ex) {
+						throw new ClassNotFoundException(name, ex);
+					}
+				}
+			}
+		};
+
+		Class<?> jsonLdObjectClass = classLoader.loadClass(JsonLDObject.class.getName());
+		Object jsonLdObject = jsonLdObjectClass.getMethod("fromJson", String.class).invoke(null, "{\"id\":\"urn:uuid:1\"}");
+		assertEquals("{\"id\":\"urn:uuid:1\"}", jsonLdObjectClass.getMethod("toJson").invoke(jsonLdObject));
+
+		InvocationTargetException ex = assertThrows(InvocationTargetException.class, () -> jsonLdObjectClass.getMethod("toCbor").invoke(jsonLdObject));
+		assertTrue(ex.getCause() instanceof IllegalStateException);
+	}
+
+	@Test
+	public void testExpandCompact() throws Throwable {
+
+		JsonLDObject jsonLdObject = JsonLDObject.fromJson(new InputStreamReader(JsonLDObjectTest.class.getResourceAsStream("input.vc.jsonld")));
+		jsonLdObject.setDocumentLoader(NormalizationAlgorithmTest.documentLoader);
+
+		JsonArray expanded = jsonLdObject.expand();
+		assertEquals("http://example.edu/credentials/1872", expanded.getJsonObject(0).getString("@id"));
+
+		JsonObject compacted = jsonLdObject.compact(URI.create("https://www.w3.org/2018/credentials/v1"));
+		assertEquals("https://www.w3.org/2018/credentials/v1", compacted.getString("@context"));
+		assertEquals("http://example.edu/credentials/1872", compacted.getString("id"));
+	}
+
+	@Test
+	public void testDocumentLoaderChangesAreSeen() throws Throwable {
+
+		URI contextUri = URI.create("https://example.com/context");
+		Map<URI, JsonDocument> localCache = new HashMap<>();
+		localCache.put(contextUri, JsonDocument.of(new StringReader("{\"@context\":{\"name\":\"https://example.com/a\"}}")));
+		ConfigurableDocumentLoader documentLoader = new ConfigurableDocumentLoader(localCache);
+
+		JsonLDObject jsonLdObject = JsonLDObject.fromJson("{\"@context\":\"https://example.com/context\",\"id\":\"urn:uuid:1\",\"name\":\"x\"}");
+		jsonLdObject.setDocumentLoader(documentLoader);
+		assertTrue(jsonLdObject.toNQuads().contains("<https://example.com/a>"));
+
+		ConfigurableDocumentLoader otherDocumentLoader = new ConfigurableDocumentLoader(Map.of(contextUri, JsonDocument.of(new StringReader("{\"@context\":{\"name\":\"https://example.com/b\"}}"))));
+		jsonLdObject.setDocumentLoader(otherDocumentLoader);
+		assertTrue(jsonLdObject.toNQuads().contains("<https://example.com/b>"));
+		assertSame(otherDocumentLoader, jsonLdObject.getJsonLdOptions().getDocumentLoader());
+
+		jsonLdObject.setDocumentLoader(documentLoader);
+		assertTrue(jsonLdObject.toNQuads().contains("<https://example.com/a>"));
+
+		JsonLDObject otherJsonLdObject = JsonLDObject.fromJson("{\"@context\":\"https://example.com/context\",\"name\":\"y\"}");
+		otherJsonLdObject.setDocumentLoader(documentLoader);
+		assertSame(jsonLdObject.getJsonLdOptions().getContextCache(), otherJsonLdObject.getJsonLdOptions().getContextCache());
+		otherJsonLdObject.setDocumentLoader(otherDocumentLoader);
+		assertNotSame(jsonLdObject.getJsonLdOptions().getContextCache(), otherJsonLdObject.getJsonLdOptions().getContextCache());
+	}
+
+	@Test
+	public void testJsonDocumentInvalidatedOnMutation() throws Throwable {
+
+		JsonLDObject jsonLdObject = JsonLDObject.fromJson("{\"@context\":{\"@vocab\":\"https://example.com/\"},\"name\":\"x\"}");
+		JsonDocument jsonDocument = jsonLdObject.toJsonDocument();
+		assertSame(jsonDocument, jsonLdObject.toJsonDocument());
+
+		jsonLdObject.setJsonObjectKeyValue("name", "y");
+		assertNotSame(jsonDocument, jsonLdObject.toJsonDocument());
+		assertTrue(jsonLdObject.toNQuads().contains("\"y\""));
+
+		JsonLDUtils.jsonLdAdd(jsonLdObject, "name", "z");
+		assertTrue(jsonLdObject.toNQuads().contains("\"z\""));
+
+		JsonLDUtils.jsonLdRemove(jsonLdObject, "name");
+		assertFalse(jsonLdObject.toNQuads().contains("\"z\""));
+	}
+
+	@Test
+	public void testParsedIdAndContexts() throws Throwable {
+
+		JsonLDObject jsonLdObject = JsonLDObject.fromJson(new InputStreamReader(JsonLDObjectTest.class.getResourceAsStream("input.vc.jsonld")));
+
+		assertSame(jsonLdObject.getId(), jsonLdObject.getId());
+		assertTrue(jsonLdObject.containsContext(URI.create("https://www.w3.org/2018/credentials/v1")));
+		assertFalse(jsonLdObject.containsContext(URI.create("https://w3id.org/security/v2")));
+
+		JsonLDUtils.jsonLdAdd(jsonLdObject, "@context", "https://w3id.org/security/v2");
+		jsonLdObject.setJsonObjectKeyValue("id", "http://example.edu/credentials/1873");
+
+		assertEquals(URI.create("http://example.edu/credentials/1873"), jsonLdObject.getId());
+		assertTrue(jsonLdObject.containsContext(URI.create("https://w3id.org/security/v2")));
+		assertEquals(URI.create("https://w3id.org/security/v2"), jsonLdObject.getContexts().get(2));
+
+		List<String> types = new ArrayList<>();
+		jsonLdObject.forEachType(types::add);
+		assertEquals(jsonLdObject.getTypes(), types);
+	}
+
+	@Test
+	public void testInPlaceAdd() throws Throwable {
+
+		JsonLDObject jsonLdObject1 = JsonLDObject.builder().type("VerifiablePresentation").build();
+		JsonLDObject jsonLdObject2 = JsonLDObject.builder().type("VerifiablePresentation").build();
+		JsonLDObject jsonLdObject3 = JsonLDObject.builder().type("VerifiablePresentation").build();
+		JsonLDUtils.JsonLDAppender jsonLdAppender = JsonLDUtils.jsonLdAppender(jsonLdObject3, "verifiableCredential", false);
+
+		for (int i = 0; i < 100; i++) {
+			JsonLDObject verifiableCredential = JsonLDObject.builder().id(URI.create("urn:uuid:" + i)).type("VerifiableCredential").build();
+			JsonLDUtils.jsonLdAdd(jsonLdObject1, "verifiableCredential", verifiableCredential.getJsonObject());
+			JsonLDUtils.jsonLdAdd(jsonLdObject2, "verifiableCredential", verifiableCredential.getJsonObject(), true);
+			jsonLdAppender.add(verifiableCredential.getJsonObject());
+		}
+		jsonLdAppender.apply();
+
+		assertEquals(jsonLdObject1, jsonLdObject2);
+		assertEquals(jsonLdObject1, jsonLdObject3);
+		assertEquals(100, JsonLDUtils.jsonLdGetJsonArray(jsonLdObject3.getJsonObject(), "verifiableCredential").size());
+	}
+
+	@Test
+	public void testPath() throws Throwable {
+
+		JsonLDObject jsonLdObject = JsonLDObject.fromJson(new InputStreamReader(JsonLDObjectTest.class.getResourceAsStream("input.vp.jsonld")));
+
+		assertEquals("did:web:vc.transmute.world#z6MksHh7qHWvybLg5QTPPdG2DgEjjduBDArV9EF9mRiRzMBN", JsonLDPath.compile("proof.verificationMethod").getString(jsonLdObject));
+		assertEquals("did:key:z6MkjRagNiMu91DduvCvgEsqLZDVzrJzFrwahc4tXLt9DoHd", JsonLDPath.compile("verifiableCredential.credentialSubject.id").getString(jsonLdObject));
+		assertEquals("http://example.gov/credentials/3732", JsonLDPath.compile("/verifiableCredential/0/id").getString(jsonLdObject));
+		assertEquals("http://example.gov/credentials/3732", JsonLDPath.compile("verifiableCredential").getStringOrObjectId(jsonLdObject));
+		assertEquals("urn:at-id", JsonLDPath.compile("a.b").getStringOrObjectId(JsonLDObject.fromJson("{\"a\":{\"b\":{\"@id\":\"urn:at-id\"}}}")));
+		assertEquals("urn:id", JsonLDPath.compile("a.b").getStringOrObjectId(JsonLDObject.fromJson("{\"a\":{\"b\":[{\"@id\":\"urn:at-id\",\"id\":\"urn:id\"}]}}")));
+		assertEquals("BachelorDegree", JsonLDPath.of("verifiableCredential", "credentialSubject", "degree").getJsonObject(jsonLdObject).get("type"));
+		assertEquals(List.of("VerifiableCredential", "UniversityDegreeCredential"), JsonLDPath.compile("verifiableCredential.type").getAll(jsonLdObject));
+		assertNull(JsonLDPath.compile("proof.verificationMethod.id").getString(jsonLdObject));
+		assertNull(JsonLDPath.compile("/verifiableCredential/1/id").get(jsonLdObject));
+		assertNull(JsonLDPath.compile("credentialSubject.id").getString(jsonLdObject));
+	}
+
+	@Test
+	public void testFindAndBoundedErrors() throws Throwable {
+
+		JsonLDObject jsonLdObject = JsonLDObject.fromJson(new InputStreamReader(JsonLDObjectTest.class.getResourceAsStream("input.vp.jsonld")));
+		Map<String, Object> jsonObject = jsonLdObject.getJsonObject();
+
+		assertEquals(Optional.of("did:web:vc.transmute.world"), JsonLDUtils.jsonLdFindString(jsonObject, "holder"));
+		assertEquals(Optional.of("did:key:z6MkjRagNiMu91DduvCvgEsqLZDVzrJzFrwahc4tXLt9DoHd"), JsonLDUtils.jsonLdFindStringOrObjectId(JsonLDUtils.jsonLdGetJsonObject(jsonObject, "verifiableCredential"), "credentialSubject"));
+		assertTrue(JsonLDUtils.jsonLdFindJsonObject(jsonObject, "verifiableCredential").isPresent());
+		assertTrue(JsonLDUtils.jsonLdFindJsonArray(jsonObject, "type").isPresent());
+		assertFalse(JsonLDUtils.jsonLdFindString(jsonObject, "proof").isPresent());
+		assertFalse(JsonLDUtils.jsonLdFindJsonObject(jsonObject, "holder").isPresent());
+		assertFalse(JsonLDUtils.jsonLdFindString(jsonObject, "missing").isPresent());
+
+		IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> JsonLDUtils.jsonLdGetString(jsonObject, "proof"));
+		assertTrue(ex.getMessage().startsWith("Cannot get string 'proof' from {@context=["));
+		assertTrue(ex.getMessage().length() < 250);
+	}
+
+	@Test
+	public void testCachesInvalidatedOnMutation() throws Throwable {
+
+		JsonLDObject jsonLdObject1 = JsonLDObject.fromJson(new InputStreamReader(JsonLDObjectTest.class.getResourceAsStream("input.vc.jsonld")));
+		JsonLDObject jsonLdObject2 = JsonLDObject.fromJson(new InputStreamReader(JsonLDObjectTest.class.getResourceAsStream("input.vc.jsonld")));
+		jsonLdObject1.setDocumentLoader(NormalizationAlgorithmTest.documentLoader);
+		jsonLdObject2.setDocumentLoader(NormalizationAlgorithmTest.documentLoader);
+
+		int hashCode = jsonLdObject1.hashCode();
+		assertEquals(jsonLdObject1, jsonLdObject2);
+		assertEquals(hashCode, jsonLdObject2.hashCode());
+		assertTrue(jsonLdObject1.semanticEquals(jsonLdObject2));
+
+		// direct changes to nested maps are not seen until the caches are invalidated
+
+		Map<String, Object> credentialSubject = JsonLDUtils.jsonLdGetJsonObject(jsonLdObject1.getJsonObject(), "credentialSubject");
+		credentialSubject.put("givenName", "Jayden");
+		assertEquals(hashCode, jsonLdObject1.hashCode());
+		assertTrue(jsonLdObject1.semanticEquals(jsonLdObject2));
+
+		jsonLdObject1.invalidateCaches();
+		assertNotEquals(hashCode, jsonLdObject1.hashCode());
+		assertNotEquals(jsonLdObject1, jsonLdObject2);
+		assertFalse(jsonLdObject1.semanticEquals(jsonLdObject2));
+
+		// the mutators invalidate the caches themselves
+
+		jsonLdObject2.setJsonObjectKeyValue("credentialSubject", credentialSubject);
+		assertEquals(jsonLdObject1.hashCode(), jsonLdObject2.hashCode());
+		assertEquals(jsonLdObject1, jsonLdObject2);
+		assertTrue(jsonLdObject1.semanticEquals(jsonLdObject2));
+
+		hashCode = jsonLdObject2.hashCode();
+		JsonLDUtils.jsonLdAdd(jsonLdObject2, "type", "ExampleCredential", true);
+		assertNotEquals(hashCode, jsonLdObject2.hashCode());
+		assertNotEquals(jsonLdObject1, jsonLdObject2);
+		assertTrue(jsonLdObject1.semanticEquals(jsonLdObject2));
+
+		JsonLDUtils.jsonLdRemove(jsonLdObject2, "issuanceDate");
+		assertFalse(jsonLdObject1.semanticEquals(jsonLdObject2));
+
+		Map<String, Object> reordered = new LinkedHashMap<>();
+		List<String> keys = new ArrayList<>(jsonLdObject1.getJsonObject().keySet());
+		Collections.reverse(keys);
+		for (String key : keys) reordered.put(key, jsonLdObject1.getJsonObject().get(key));
+		JsonLDObject jsonLdObject3 = JsonLDObject.fromJsonObject(reordered);
+		jsonLdObject3.setDocumentLoader(NormalizationAlgorithmTest.documentLoader);
+
+		assertTrue(jsonLdObject1.semanticEquals(jsonLdObject3));
+		assertEquals(new HashSet<>(List.of(jsonLdObject1)), new HashSet<>(List.of(jsonLdObject3)));
+	}
+}
@@ -4,14 +4,40 @@ import com.apicatalog.jsonld.JsonLdError;
 import com.apicatalog.jsonld.document.JsonDocument;
 import com.apicatalog.jsonld.http.media.MediaType;
 import com.apicatalog.jsonld.loader.DocumentLoader;
+import com.apicatalog.rdf.Rdf;
+import com.apicatalog.rdf.RdfDataset;
+import com.apicatalog.rdf.RdfResource;
+import com.apicatalog.rdf.RdfValue;
+import com.apicatalog.rdf.io.nquad.NQuadsWriter;
+import foundation.identity.jsonld.normalization.CanonicalizationEngines;
+import foundation.identity.jsonld.normalization.MessageDigestWriter;
+import foundation.identity.jsonld.normalization.NormalizationLimitException;
+import foundation.identity.jsonld.normalization.NormalizationLimits;
+import foundation.identity.jsonld.normalization.Urdna2015Normalizer;
+import io.setl.rdf.normalization.RdfNormalize;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.junit.jupiter.api.Test;
 
 import java.io.InputStreamReader;
+import java.io.StringWriter;
 import java.net.URI;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class NormalizationAlgorithmTest {
 
@@ -95,4 +121,248 @@ public class NormalizationAlgorithmTest {
 
 		assertEquals(normalizedDocument, jsonLdObject.normalize("urdna2015"));
 	}
+
+	@Test
+	public void testNormalizationWithLimits() throws Throwable {
+
+		NormalizationLimits limits = NormalizationLimits.builder().maxQuads(1000).maxBlankNodes(100).maxNDegreeIterations(10000).timeout(Duration.ofSeconds(10)).build();
+
+		for (String resource : new String[] { "input", "signed.good.rsa", "input.vc", "input.vp" }) {
+
+			JsonLDObject jsonLdObject = JsonLDObject.fromJson(new InputStreamReader(NormalizationAlgorithmTest.class.getResourceAsStream(resource + ".jsonld")));
+			jsonLdObject.setDocumentLoader(documentLoader);
+			String normalizedDocument = TestUtil.read(NormalizationAlgorithmTest.class.getResourceAsStream(resource + ".normalized"));
+
+			assertEquals(normalizedDocument, jsonLdObject.normalize("urdna2015", limits));
+		}
+	}
+
+	@Test
+	public void testNormalizationLimitsExceeded() throws Throwable {
+
+		JsonLDObject jsonLdObject = JsonLDObject.fromJson(new InputStreamReader(NormalizationAlgorithmTest.class.getResourceAsStream("signed.good.rsa.jsonld")));
+		jsonLdObject.setDocumentLoader(documentLoader);
+
+		NormalizationLimitException ex1 = assertThrows(NormalizationLimitException.class, () -> jsonLdObject.normalize("urdna2015", NormalizationLimits.builder().maxQuads(1).build()));
+		assertEquals(NormalizationLimitException.Limit.MAX_QUADS, ex1.getLimit());
+		assertTrue(ex1.getMessage().startsWith("MAX_QUADS: "));
+
+		NormalizationLimitException ex2 = assertThrows(NormalizationLimitException.class, () -> jsonLdObject.normalize("urdna2015", NormalizationLimits.builder().maxBlankNodes(0).build()));
+		assertEquals(NormalizationLimitException.Limit.MAX_BLANK_NODES, ex2.getLimit());
+
+		JsonLDObject symmetricJsonLdObject = JsonLDObject.fromJson("{\"@context\":{\"@vocab\":\"https://example.com/\"},\"p\":[{\"q\":\"x\"},{\"q\":\"x\",\"r\":{\"q\":\"x\"}},{\"q\":\"x\",\"r\":{\"q\":\"x\"}}]}");
+
+		NormalizationLimitException ex3 = assertThrows(NormalizationLimitException.class, () -> symmetricJsonLdObject.normalize("urdna2015", NormalizationLimits.builder().maxNDegreeIterations(1).build()));
+		assertEquals(NormalizationLimitException.Limit.MAX_NDEGREE_ITERATIONS, ex3.getLimit());
+		assertEquals(symmetricJsonLdObject.normalize("urdna2015"), symmetricJsonLdObject.normalize("urdna2015", NormalizationLimits.UNLIMITED));
+	}
+
+	@Test
+	public void testCanonicalHash() throws Throwable {
+
+		JsonLDObject jsonLdObject = JsonLDObject.fromJson(new InputStreamReader(NormalizationAlgorithmTest.class.getResourceAsStream("input.vp.jsonld")));
+		jsonLdObject.setDocumentLoader(documentLoader);
+		String normalizedDocument = TestUtil.read(NormalizationAlgorithmTest.class.getResourceAsStream("input.vp.normalized"));
+
+		assertArrayEquals(DigestUtils.sha256(normalizedDocument), jsonLdObject.canonicalHash("urdna2015", "SHA-256"));
+		assertArrayEquals(DigestUtils.sha256(normalizedDocument), jsonLdObject.canonicalHash("urdna2015", "SHA-256"));
+	}
+
+	@Test
+	public void testCanonicalQuads() throws Throwable {
+
+		JsonLDObject jsonLdObject = JsonLDObject.fromJson(new InputStreamReader(NormalizationAlgorithmTest.class.getResourceAsStream("input.vp.jsonld")));
+		jsonLdObject.setDocumentLoader(documentLoader);
+		String normalizedDocument = TestUtil.read(NormalizationAlgorithmTest.class.getResourceAsStream("input.vp.normalized"));
+
+		List<String> canonicalQuads = jsonLdObject.canonicalQuads("urdna2015");
+		assertEquals(normalizedDocument, String.join("", canonicalQuads));
+
+		List<byte[]> canonicalQuadHashes = jsonLdObject.canonicalQuadHashes("urdna2015", "SHA-256", true);
+		assertEquals(canonicalQuads.size(), canonicalQuadHashes.size());
+		for (int i = 0; i < canonicalQuads.size(); i++) assertArrayEquals(DigestUtils.sha256(canonicalQuads.get(i)), canonicalQuadHashes.get(i));
+	}
+
+	@Test
+	public void testCanonicalizationEngines() throws Throwable {
+
+		JsonLDObject symmetricJsonLdObject = JsonLDObject.fromJson("{\"@context\":{\"@vocab\":\"https://example.com/\"},\"p\":[{\"q\":\"x\"},{\"q\":\"x\",\"r\":{\"q\":\"x\"}},{\"q\":\"x\",\"r\":{\"q\":\"x\"}}]}");
+		JsonLDObject identifiedJsonLdObject = JsonLDObject.fromJson("{\"@context\":\"https://www.w3.org/2018/credentials/v1\",\"id\":\"urn:uuid:1\",\"type\":\"VerifiableCredential\",\"issuer\":\"did:example:issuer\",\"issuanceDate\":\"2020-01-01T00:00:00Z\",\"credentialSubject\":{\"id\":\"did:example:subject\"}}");
+		identifiedJsonLdObject.setDocumentLoader(documentLoader);
+
+		List<JsonLDObject> jsonLdObjects = new ArrayList<>(List.of(symmetricJsonLdObject, identifiedJsonLdObject));
+		for (String resource : new String[] { "input", "input.vc", "input.vp", "signed.good.rsa" }) {
+			JsonLDObject jsonLdObject = JsonLDObject.fromJson(new InputStreamReader(NormalizationAlgorithmTest.class.getResourceAsStream(resource + ".jsonld")));
+			jsonLdObject.setDocumentLoader(documentLoader);
+			assertEquals(TestUtil.read(NormalizationAlgorithmTest.class.getResourceAsStream(resource + ".normalized")), jsonLdObject.normalize("rdfc-1.0"));
+			jsonLdObjects.add(jsonLdObject);
+		}
+
+		for (JsonLDObject jsonLdObject : jsonLdObjects) {
+			StringWriter expected = new StringWriter();
+			new NQuadsWriter(expected).write(RdfNormalize.normalize(jsonLdObject.toDataset(), "urdna2015"));
+			StringWriter actual = new StringWriter();
+			new NQuadsWriter(actual).write(Urdna2015Normalizer.URDNA2015_ENGINE.canonicalize(jsonLdObject.toDataset(), NormalizationLimits.UNLIMITED));
+			assertEquals(expected.toString(), actual.toString());
+			assertEquals(expected.toString(), jsonLdObject.normalize("urdna2015"));
+			assertEquals(expected.toString(), jsonLdObject.normalize("RDFC-1.0"));
+		}
+
+		assertEquals("rdfc-1.0", CanonicalizationEngines.get("RDFC-1.0").getName());
+		assertEquals("urdna2015", CanonicalizationEngines.get(null).getName());
+		assertNull(CanonicalizationEngines.get("urgna2012"));
+	}
+
+	@Test
+	public void testRdfc10Serialization() throws Throwable {
+
+		JsonLDObject jsonLdObject = JsonLDObject.fromJson("{\"@context\":{\"@vocab\":\"https://example.com/\"},\"@id\":\"https://example.com/s\",\"p\":[\"a\\u000bb\\u001fc\\u007fd\\te\\bf\\fg\", \"\\ud83d\\ude00\", \"\\uff61\"]}");
+		String expected = "<https://example.com/s> <https://example.com/p> \"a\\u000Bb\\u001Fc\\u007Fd\\te\\bf\\fg\" .\n"
+				+ "<https://example.com/s> <https://example.com/p> \"\uff61\" .\n"
+				+ "<https://example.com/s> <https://example.com/p> \"\ud83d\ude00\" .\n";
+
+		assertEquals(expected, jsonLdObject.normalize("rdfc-1.0"));
+		assertEquals(expected, jsonLdObject.normalize("rdfc-1.0", NormalizationLimits.builder().build()));
+		assertEquals(expected, String.join("", jsonLdObject.canonicalQuads("rdfc-1.0")));
+		assertArrayEquals(DigestUtils.sha256(expected), jsonLdObject.canonicalHash("rdfc-1.0", "SHA-256"));
+
+		JsonLDObject blankNodeJsonLdObject = JsonLDObject.fromJson("{\"@context\":{\"@vocab\":\"https://example.com/\"},\"p\":[\"\\ud83d\\ude00\", \"\\uff61\\u001f\"]}");
+		assertEquals("_:c14n0 <https://example.com/p> \"\uff61\\u001F\" .\n_:c14n0 <https://example.com/p> \"\ud83d\ude00\" .\n", blankNodeJsonLdObject.normalize("rdfc-1.0"));
+	}
+
+	@Test
+	public void testCanonicalizationEngineMatchesRdfNormalize() throws Throwable {
+
+		RdfResource p = Rdf.createIRI("https://example.com/p");
+		RdfResource q = Rdf.createIRI("https://example.com/q");
+
+		List<RdfDataset> datasets = new ArrayList<>();
+
+		RdfDataset literals = Rdf.createDataset();
+		literals.add(Rdf.createNQuad(Rdf.createBlankNode("_:b0"), p, Rdf.createString("quote \" backslash \\ newline \n return \r tab \t"), null));
+		literals.add(Rdf.createNQuad(Rdf.createBlankNode("_:b0"), p, Rdf.createString("unicode \u00e9 \u2603 \ud83d\ude00"), null));
+		literals.add(Rdf.createNQuad(Rdf.createBlankNode("_:b0"), p, Rdf.createTypedString("1", "http://www.w3.org/2001/XMLSchema#integer"), null));
+		literals.add(Rdf.createNQuad(Rdf.createBlankNode("_:b1"), p, Rdf.createLangString("chat", "fr"), null));
+		literals.add(Rdf.createNQuad(Rdf.createBlankNode("_:b1"), p, Rdf.createLangString("chat", "en-GB"), null));
+		datasets.add(literals);
+
+		RdfDataset ground = Rdf.createDataset();
+		ground.add(Rdf.createNQuad(Rdf.createIRI("https://example.com/s"), q, Rdf.createString("tab \t \u001f \u007f \uff61 \ud83d\ude00"), null));
+		ground.add(Rdf.createNQuad(Rdf.createIRI("https://example.com/s"), p, Rdf.createLangString("chat", "fr"), Rdf.createIRI("https://example.com/g")));
+		ground.add(Rdf.createNQuad(Rdf.createIRI("https://example.com/s"), p, Rdf.createIRI("https://example.com/o"), null));
+		datasets.add(ground);
+
+		RdfDataset blankGraphs = Rdf.createDataset();
+		blankGraphs.add(Rdf.createNQuad(Rdf.createBlankNode("_:s"), p, Rdf.createBlankNode("_:o"), Rdf.createBlankNode("_:g1")));
+		blankGraphs.add(Rdf.createNQuad(Rdf.createBlankNode("_:o"), q, Rdf.createString("x"), Rdf.createBlankNode("_:g2")));
+		blankGraphs.add(Rdf.createNQuad(Rdf.createIRI("https://example.com/s"), p, Rdf.createBlankNode("_:g1"), null));
+		datasets.add(blankGraphs);
+
+		RdfDataset cycles = Rdf.createDataset();
+		for (int i = 0; i < 6; i++) {
+			cycles.add(Rdf.createNQuad(Rdf.createBlankNode("_:x" + i), p, Rdf.createBlankNode("_:x" + ((i + 1) % 6)), null));
+			cycles.add(Rdf.createNQuad(Rdf.createBlankNode("_:y" + i), p, Rdf.createBlankNode("_:y" + ((i + 1) % 3)), null));
+		}
+		datasets.add(cycles);
+
+		Random random = new Random(42);
+		for (int i = 0; i < 50; i++) {
+			RdfDataset dataset = Rdf.createDataset();
+			Set<String> added = new HashSet<>();
+			int blankNodes = 1 + random.nextInt(8);
+			for (int j = 0; j < 1 + random.nextInt(20); j++) {
+				RdfResource subject = Rdf.createBlankNode("_:n" + random.nextInt(blankNodes));
+				RdfResource predicate = random.nextBoolean() ? p : q;
+				RdfValue object = random.nextInt(4) == 0 ? Rdf.createString("v" + random.nextInt(3)) : Rdf.createBlankNode("_:n" + random.nextInt(blankNodes));
+				RdfResource graphName = random.nextInt(4) == 0 ? Rdf.createBlankNode("_:n" + random.nextInt(blankNodes)) : null;
+				if (added.add(subject + " " + predicate + " " + object + " " + graphName)) dataset.add(Rdf.createNQuad(subject, predicate, object, graphName));
+			}
+			datasets.add(dataset);
+		}
+
+		for (RdfDataset dataset : datasets) {
+			StringWriter expected = new StringWriter();
+			new NQuadsWriter(expected).write(RdfNormalize.normalize(dataset, "urdna2015"));
+			StringWriter actual = new StringWriter();
+			new NQuadsWriter(actual).write(Urdna2015Normalizer.URDNA2015_ENGINE.canonicalize(dataset, NormalizationLimits.UNLIMITED));
+			assertEquals(expected.toString(), actual.toString());
+		}
+	}
+
+	@Test
+	public void testMessageDigestWriter() throws Throwable {
+
+		String[] inputs = new String[] { "", "plain ascii", "caf\u00e9 \u20ac \ud83d\ude00", "trailing \ud83d", "\ud83d", "lone \ude00 low", "high \ud83d then x", "\ud83d\ud83d\ude00", "x".repeat(509) + "\ud83d\ude00\ud83d" };
+
+		for (String input : inputs) {
+
+			MessageDigestWriter messageDigestWriter = new MessageDigestWriter(MessageDigest.getInstance("SHA-256"));
+			messageDigestWriter.write(input);
+			assertEquals(DigestUtils.sha256Hex(input), Hex.encodeHexString(messageDigestWriter.digest()), input);
+
+			messageDigestWriter = new MessageDigestWriter(MessageDigest.getInstance("SHA-256"));
+			for (int i = 0; i < input.length(); i++) messageDigestWriter.write(input.charAt(i));
+			messageDigestWriter.close();
+			assertEquals(DigestUtils.sha256Hex(input), Hex.encodeHexString(messageDigestWriter.digest()), input);
+		}
+	}
+
+	@Test
+	public void testParallelNormalization() throws Throwable {
+
+		ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+		try {
+
+			NormalizationLimits limits = NormalizationLimits.builder().parallel(forkJoinPool).build();
+
+			for (String resource : new String[] { "input", "signed.good.rsa", "input.vc", "input.vp" }) {
+
+				JsonLDObject jsonLdObject = JsonLDObject.fromJson(new InputStreamReader(NormalizationAlgorithmTest.class.getResourceAsStream(resource + ".jsonld")));
+				jsonLdObject.setDocumentLoader(documentLoader);
+				String normalizedDocument = TestUtil.read(NormalizationAlgorithmTest.class.getResourceAsStream(resource + ".normalized"));
+
+				assertEquals(normalizedDocument, jsonLdObject.normalize("urdna2015", limits));
+			}
+
+			StringBuilder json = new StringBuilder("{\"@context\":{\"@vocab\":\"https://example.com/\"},\"p\":[");
+			for (int i = 0; i < 40; i++) {
+				if (i > 0) json.append(',');
+				json.append("{\"q\":\"x").append(i % 4).append("\",\"r\":{\"q\":\"y").append(i % 2).append("\"}}");
+			}
+			json.append("]}");
+			JsonLDObject symmetricJsonLdObject = JsonLDObject.fromJson(json.toString());
+
+			assertEquals(symmetricJsonLdObject.normalize("urdna2015"), symmetricJsonLdObject.normalize("urdna2015", limits));
+
+			NormalizationLimitException ex = assertThrows(NormalizationLimitException.class, () -> symmetricJsonLdObject.normalize("urdna2015", NormalizationLimits.builder().parallel(forkJoinPool).maxNDegreeIterations(10).build()));
+			assertEquals(NormalizationLimitException.Limit.MAX_NDEGREE_ITERATIONS, ex.getLimit());
+		} finally {
+
+			forkJoinPool.shutdown();
+		}
+	}
+
+	@Test
+	public void testNormalizeToReusableBuffer() throws Throwable {
+
+		JsonLDObject jsonLdObject = JsonLDObject.fromJson(new InputStreamReader(NormalizationAlgorithmTest.class.getResourceAsStream("input.vp.jsonld")));
+		jsonLdObject.setDocumentLoader(documentLoader);
+		String normalizedDocument = TestUtil.read(NormalizationAlgorithmTest.class.getResourceAsStream("input.vp.normalized"));
+
+		assertEquals(normalizedDocument, jsonLdObject.normalizeToReusableBuffer("urdna2015").toString());
+		assertEquals(normalizedDocument, jsonLdObject.normalizeToReusableBuffer("urdna2015", NormalizationLimits.UNLIMITED).toString());
+		assertEquals(normalizedDocument, jsonLdObject.normalize("urdna2015"));
+		assertEquals(jsonLdObject.toNQuads(), jsonLdObject.toNQuadsReusableBuffer().toString());
+
+		CharSequence reusableBuffer = jsonLdObject.normalizeToReusableBuffer("urdna2015");
+		List<String> canonicalQuads = jsonLdObject.canonicalQuads("urdna2015");
+		assertEquals(normalizedDocument, reusableBuffer.toString());
+		assertEquals(normalizedDocument, String.join("", canonicalQuads));
+
+		JsonLDObject smallJsonLdObject = JsonLDObject.fromJson(new InputStreamReader(NormalizationAlgorithmTest.class.getResourceAsStream("input.jsonld")));
+		smallJsonLdObject.setDocumentLoader(documentLoader);
+		assertEquals(TestUtil.read(NormalizationAlgorithmTest.class.getResourceAsStream("input.normalized")), smallJsonLdObject.normalize("urdna2015"));
+		assertEquals(normalizedDocument, String.join("", jsonLdObject.canonicalQuads("urdna2015")));
+	}
 }